@@ -0,0 +1,23 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.Main;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Запускает JMH и по умолчанию сохраняет результаты в JSON, чтобы их можно было сравнивать между коммитами.
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws Exception {
+        List<String> jmhArgs = new ArrayList<>(List.of(args));
+        if (!jmhArgs.contains("-rf")) {
+            jmhArgs.addAll(List.of("-rf", "json"));
+        }
+        if (!jmhArgs.contains("-rff")) {
+            jmhArgs.addAll(List.of("-rff", "jmh-gateway.json"));
+        }
+        Main.main(jmhArgs.toArray(new String[0]));
+    }
+}
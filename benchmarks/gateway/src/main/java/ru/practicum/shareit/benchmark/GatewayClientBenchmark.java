@@ -0,0 +1,96 @@
+package ru.practicum.shareit.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.client.GatewayHttpConfig;
+import ru.practicum.shareit.client.GatewayHttpProperties;
+import ru.practicum.shareit.user.UserClient;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Полный путь запроса через BaseClient до локальной заглушки сервера и обратно.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class GatewayClientBenchmark {
+
+    @Param({"100", "10000"})
+    private int bodySize;
+
+    private HttpServer server;
+    private ExecutorService executor;
+    private CloseableHttpAsyncClient httpClient;
+    private UserClient userClient;
+    private UserDto userDto;
+
+    @Setup
+    public void setUp() throws IOException {
+        byte[] body = ("{\"id\":1,\"name\":\"" + "x".repeat(bodySize) + "\",\"email\":\"user@mail.com\"}")
+                .getBytes(StandardCharsets.UTF_8);
+        // без TCP_NODELAY заголовки и тело ответа заглушки уходят с задержкой Nagle и delayed ACK в 40 мс
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        executor = Executors.newFixedThreadPool(16);
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 1024);
+        server.setExecutor(executor);
+        server.createContext("/users", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+
+        GatewayHttpProperties properties = new GatewayHttpProperties();
+        httpClient = new GatewayHttpConfig().shareItServerHttpClient(properties);
+        userClient = new UserClient("http://localhost:" + server.getAddress().getPort(), httpClient,
+                new ObjectMapper(), properties);
+        userDto = new UserDto(null, "Daniel", "daniel@mail.com");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        httpClient.close();
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> get() {
+        return userClient.getUser(1).join();
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> post() {
+        return userClient.createUser(userDto).join();
+    }
+}
@@ -0,0 +1,92 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.request.ItemRequestService;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// время страницы чужих запросов должно расти с её размером, а не с числом запросов к базе
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemRequestServiceBenchmark {
+    private static final int REQUESTS = 500;
+
+    @Param({"2", "10", "50", "200"})
+    private int size;
+
+    @Param({"3"})
+    private int itemsPerRequest;
+
+    private ServerFixture fixture;
+    private ItemRequestService itemRequestService;
+
+    @Setup
+    public void setUp() {
+        fixture = new ServerFixture(0, 0, 0);
+        itemRequestService = fixture.getBean(ItemRequestService.class);
+        fill();
+    }
+
+    @TearDown
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public List<ItemRequestDto> getAllRequests() {
+        return itemRequestService.getAllRequests(fixture.getOwnerId(), 0, size);
+    }
+
+    // запросы создаёт арендатор, владелец отвечает на каждый несколькими вещами
+    private void fill() {
+        User requestor = fixture.getBean(UserRepository.class).findById(fixture.getBookerId()).orElseThrow();
+        User owner = fixture.getBean(UserRepository.class).findById(fixture.getOwnerId()).orElseThrow();
+        LocalDateTime now = LocalDateTime.now();
+        List<ItemRequest> requests = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            requests.add(ItemRequest.builder()
+                    .description("Нужна вещь " + i)
+                    .requestor(requestor)
+                    .created(now.minusMinutes(i))
+                    .build());
+        }
+        List<Item> items = new ArrayList<>();
+        for (ItemRequest request : fixture.getBean(ItemRequestRepository.class).saveAll(requests)) {
+            for (int i = 0; i < itemsPerRequest; i++) {
+                items.add(Item.builder()
+                        .name("Ответ " + i)
+                        .description("Вещь по запросу " + request.getId())
+                        .available(true)
+                        .owner(owner)
+                        .request(request)
+                        .build());
+            }
+        }
+        fixture.getBean(ItemRepository.class).saveAll(items);
+    }
+}
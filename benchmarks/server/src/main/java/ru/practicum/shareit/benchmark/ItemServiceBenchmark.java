@@ -0,0 +1,73 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import ru.practicum.shareit.booking.ItemBookingTimeline;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemServiceBenchmark {
+
+    @Param({"10", "100"})
+    private int items;
+
+    @Param({"20"})
+    private int bookingsPerItem;
+
+    private ServerFixture fixture;
+    private ItemService itemService;
+    private ItemBookingTimeline timeline;
+    private Long itemId;
+
+    @Setup
+    public void setUp() {
+        fixture = new ServerFixture(items, bookingsPerItem, 3);
+        itemService = fixture.getBean(ItemService.class);
+        timeline = fixture.getBean(ItemBookingTimeline.class);
+        itemId = fixture.getItemIds().get(items / 2);
+    }
+
+    @TearDown
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public List<ItemDto> getByOwner() {
+        return itemService.getByOwner(fixture.getOwnerId());
+    }
+
+    @Benchmark
+    public ItemDto getByIdAsOwner() {
+        return itemService.getById(itemId, fixture.getOwnerId());
+    }
+
+    // то, что делает ItemServiceImpl.setBookings для одной вещи
+    @Benchmark
+    public void lastAndNextBooking(Blackhole blackhole) {
+        LocalDateTime now = LocalDateTime.now();
+        blackhole.consume(timeline.getLast(itemId, now));
+        blackhole.consume(timeline.getNext(itemId, now));
+    }
+}
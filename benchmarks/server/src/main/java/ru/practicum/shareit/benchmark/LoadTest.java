@@ -0,0 +1,189 @@
+package ru.practicum.shareit.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.boot.WebApplicationType;
+
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Нагрузочное сравнение режимов выполнения запросов сервера: пул потоков Tomcat и виртуальные потоки.
+ * Для каждого режима поднимает сервер на случайном порту и держит заданное число пользователей,
+ * каждый из которых без пауз отправляет запросы к вещам и бронированиям.
+ * <p>
+ * Параметры передаются как {@code key=value}: {@code users} (2000), {@code duration} и {@code warmup}
+ * в секундах (30 и 10), {@code modes} ({@code platform,virtual}), {@code out} ({@code load-server.json}).
+ * Аргументы вида {@code --name=value} передаются серверу, например адрес PostgreSQL вместо H2.
+ */
+public class LoadTest {
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>(Map.of(
+                "users", "2000",
+                "duration", "30",
+                "warmup", "10",
+                "modes", "platform,virtual",
+                "out", "load-server.json"));
+        List<String> serverArgs = new ArrayList<>(List.of("--server.port=0"));
+        for (String arg : args) {
+            if (arg.startsWith("--")) {
+                serverArgs.add(arg);
+            } else {
+                String[] option = arg.split("=", 2);
+                options.put(option[0], option[1]);
+            }
+        }
+
+        int users = Integer.parseInt(options.get("users"));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.get("warmup")));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.get("duration")));
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("users", users);
+        report.put("durationSeconds", duration.toSeconds());
+        for (String mode : options.get("modes").split(",")) {
+            List<String> modeArgs = new ArrayList<>(serverArgs);
+            modeArgs.add("--spring.threads.virtual.enabled=" + "virtual".equals(mode));
+            try (ServerFixture fixture = new ServerFixture(100, 20, 3, WebApplicationType.SERVLET,
+                    modeArgs.toArray(new String[0]))) {
+                Map<String, Object> result = run(fixture, users, warmup, duration);
+                System.out.println(mode + ": " + result);
+                report.put(mode, result);
+            }
+        }
+
+        File out = new File(options.get("out"));
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(out, report);
+        System.out.println("Результаты сохранены в " + out.getAbsolutePath());
+    }
+
+    private static Map<String, Object> run(ServerFixture fixture, int users, Duration warmup, Duration duration)
+            throws Exception {
+        String baseUrl = "http://localhost:" + fixture.getPort();
+        List<HttpRequest> requests = List.of(
+                request(baseUrl + "/items/" + fixture.getItemIds().get(0), fixture.getOwnerId()),
+                request(baseUrl + "/items", fixture.getOwnerId()),
+                request(baseUrl + "/bookings?state=ALL&from=0&size=10", fixture.getBookerId()),
+                request(baseUrl + "/bookings/owner?state=FUTURE&from=0&size=10", fixture.getOwnerId()));
+
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(executor)
+                .build();
+        try (client; executor) {
+            long measureFrom = System.nanoTime() + warmup.toNanos();
+            long measureTo = measureFrom + duration.toNanos();
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<UserStats>> futures = new ArrayList<>();
+            for (int i = 0; i < users; i++) {
+                int offset = i;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return runUser(client, requests, offset, measureFrom, measureTo);
+                }));
+            }
+            start.countDown();
+
+            UserStats total = new UserStats();
+            for (Future<UserStats> future : futures) {
+                total.add(future.get(warmup.plus(duration).toSeconds() + 60, TimeUnit.SECONDS));
+            }
+            return total.summary(duration);
+        }
+    }
+
+    private static UserStats runUser(HttpClient client, List<HttpRequest> requests, int offset,
+                                     long measureFrom, long measureTo) {
+        UserStats stats = new UserStats();
+        for (int i = offset; ; i++) {
+            HttpRequest request = requests.get(i % requests.size());
+            long started = System.nanoTime();
+            if (started >= measureTo) {
+                return stats;
+            }
+            boolean ok;
+            try {
+                ok = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+            } catch (Exception e) {
+                ok = false;
+            }
+            if (started >= measureFrom) {
+                stats.record(System.nanoTime() - started, ok);
+            }
+        }
+    }
+
+    private static HttpRequest request(String url, Long userId) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header(USER_ID_HEADER, String.valueOf(userId))
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+    }
+
+    private static class UserStats {
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+
+        void record(long latencyNanos, boolean ok) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+            if (!ok) {
+                errors++;
+            }
+        }
+
+        void add(UserStats other) {
+            if (count + other.count > latencies.length) {
+                latencies = Arrays.copyOf(latencies, Math.max(latencies.length * 2, count + other.count));
+            }
+            System.arraycopy(other.latencies, 0, latencies, count, other.count);
+            count += other.count;
+            errors += other.errors;
+        }
+
+        Map<String, Object> summary(Duration duration) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("requests", count);
+            summary.put("errors", errors);
+            summary.put("throughputPerSecond", Math.round((double) count / duration.toSeconds()));
+            summary.put("p50Ms", percentile(sorted, 0.50));
+            summary.put("p90Ms", percentile(sorted, 0.90));
+            summary.put("p95Ms", percentile(sorted, 0.95));
+            summary.put("p99Ms", percentile(sorted, 0.99));
+            summary.put("maxMs", percentile(sorted, 1.0));
+            return summary;
+        }
+
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(index, 0)] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package ru.practicum.shareit.benchmark;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.ItemBookingTimeline;
+import ru.practicum.shareit.item.CommentRepository;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Сервер на H2 из профиля test, заполненный вещами одного владельца и бронированиями одного арендатора.
+ * По умолчанию поднимается без веб-слоя.
+ */
+public class ServerFixture implements AutoCloseable {
+    private static final BookingStatus[] STATUSES = BookingStatus.values();
+
+    private final ConfigurableApplicationContext context;
+    private Long ownerId;
+    private Long bookerId;
+    private final List<Long> itemIds = new ArrayList<>();
+
+    public ServerFixture(int items, int bookingsPerItem, int commentsPerItem) {
+        this(items, bookingsPerItem, commentsPerItem, WebApplicationType.NONE);
+    }
+
+    public ServerFixture(int items, int bookingsPerItem, int commentsPerItem, WebApplicationType webType,
+                         String... args) {
+        context = new SpringApplicationBuilder(ShareItServer.class)
+                .profiles("test")
+                .web(webType)
+                .logStartupInfo(false)
+                .properties("logging.level.root=WARN")
+                .run(args);
+        fill(items, bookingsPerItem, commentsPerItem);
+        context.getBean(ItemBookingTimeline.class).rebuild();
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public Long getOwnerId() {
+        return ownerId;
+    }
+
+    public Long getBookerId() {
+        return bookerId;
+    }
+
+    public List<Long> getItemIds() {
+        return itemIds;
+    }
+
+    public int getPort() {
+        return context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+
+    private void fill(int itemCount, int bookingsPerItem, int commentsPerItem) {
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        ItemRepository itemRepository = context.getBean(ItemRepository.class);
+        BookingRepository bookingRepository = context.getBean(BookingRepository.class);
+        CommentRepository commentRepository = context.getBean(CommentRepository.class);
+
+        User owner = userRepository.save(User.builder().name("Owner").email("owner@bench.ru").build());
+        User booker = userRepository.save(User.builder().name("Booker").email("booker@bench.ru").build());
+        ownerId = owner.getId();
+        bookerId = booker.getId();
+
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < itemCount; i++) {
+            items.add(Item.builder()
+                    .name("Вещь " + i)
+                    .description("Описание вещи " + i)
+                    .available(true)
+                    .owner(owner)
+                    .build());
+        }
+        itemRepository.saveAll(items).forEach(item -> itemIds.add(item.getId()));
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Booking> bookings = new ArrayList<>();
+        List<Comment> comments = new ArrayList<>();
+        for (Item item : items) {
+            // половина бронирований в прошлом, одно текущее, остальные в будущем
+            for (int i = 0; i < bookingsPerItem; i++) {
+                LocalDateTime start = now.plusDays(2L * (i - bookingsPerItem / 2));
+                bookings.add(Booking.builder()
+                        .start(start.minusHours(1))
+                        .end(start.plusDays(1))
+                        .item(item)
+                        .booker(booker)
+                        .status(STATUSES[i % STATUSES.length])
+                        .build());
+            }
+            for (int i = 0; i < commentsPerItem; i++) {
+                comments.add(Comment.builder()
+                        .text("Отзыв " + i)
+                        .item(item)
+                        .author(booker)
+                        .created(now.minusDays(i))
+                        .build());
+            }
+        }
+        bookingRepository.saveAll(bookings);
+        commentRepository.saveAll(comments);
+    }
+}
@@ -1,9 +1,15 @@
 package ru.practicum.shareit.booking;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.CompletableFuture;
+
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -11,12 +17,14 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookingBatchRequestDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 
 
@@ -29,7 +37,7 @@ public class BookingController {
 	private final BookingClient bookingClient;
 
 	@GetMapping
-	public ResponseEntity<Object> getBookings(@RequestHeader("X-Sharer-User-Id") long userId,
+	public CompletableFuture<ResponseEntity<Object>> getBookings(@RequestHeader("X-Sharer-User-Id") long userId,
 			@RequestParam(name = "state", defaultValue = "all") String stateParam,
 			@PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
 			@Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
@@ -39,17 +47,78 @@ public class BookingController {
 		return bookingClient.getBookings(userId, state, from, size);
 	}
 
+	@GetMapping("/owner")
+	public CompletableFuture<ResponseEntity<Object>> getOwnerBookings(@RequestHeader("X-Sharer-User-Id") long userId,
+			@RequestParam(name = "state", defaultValue = "all") String stateParam,
+			@PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+			@Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+		BookingState state = BookingState.from(stateParam)
+				.orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
+		log.info("Get owner bookings with state {}, userId={}, from={}, size={}", stateParam, userId, from, size);
+		return bookingClient.getOwnerBookings(userId, state, from, size);
+	}
+
+	@GetMapping("/counts")
+	public CompletableFuture<ResponseEntity<Object>> getBookingCounts(@RequestHeader("X-Sharer-User-Id") long userId) {
+		log.info("Get booking counts by state, userId={}", userId);
+		return bookingClient.getBookingCounts(userId);
+	}
+
+	@GetMapping("/owner/counts")
+	public CompletableFuture<ResponseEntity<Object>> getOwnerBookingCounts(@RequestHeader("X-Sharer-User-Id") long userId) {
+		log.info("Get owner booking counts by state, userId={}", userId);
+		return bookingClient.getOwnerBookingCounts(userId);
+	}
+
+	@GetMapping("/export")
+	public void exportBookings(@RequestHeader("X-Sharer-User-Id") long userId,
+			HttpServletResponse response) throws IOException {
+		log.info("Export bookings, userId={}", userId);
+		pipe(bookingClient.exportBookings(userId), response);
+	}
+
+	@GetMapping("/owner/export")
+	public void exportOwnerBookings(@RequestHeader("X-Sharer-User-Id") long userId,
+			HttpServletResponse response) throws IOException {
+		log.info("Export owner bookings, userId={}", userId);
+		pipe(bookingClient.exportOwnerBookings(userId), response);
+	}
+
 	@PostMapping
-	public ResponseEntity<Object> bookItem(@RequestHeader("X-Sharer-User-Id") long userId,
+	public CompletableFuture<ResponseEntity<Object>> bookItem(@RequestHeader("X-Sharer-User-Id") long userId,
 			@RequestBody @Valid BookItemRequestDto requestDto) {
 		log.info("Creating booking {}, userId={}", requestDto, userId);
 		return bookingClient.bookItem(userId, requestDto);
 	}
 
+	@PatchMapping("/batch")
+	public CompletableFuture<ResponseEntity<Object>> approveBookings(@RequestHeader("X-Sharer-User-Id") long userId,
+			@RequestBody @Valid BookingBatchRequestDto requestDto) {
+		log.info("Batch decision approved={} for {} bookings, userId={}", requestDto.getApproved(),
+				requestDto.getBookingIds().size(), userId);
+		return bookingClient.approveBookings(userId, requestDto);
+	}
+
 	@GetMapping("/{bookingId}")
-	public ResponseEntity<Object> getBooking(@RequestHeader("X-Sharer-User-Id") long userId,
+	public CompletableFuture<ResponseEntity<Object>> getBooking(@RequestHeader("X-Sharer-User-Id") long userId,
 			@PathVariable Long bookingId) {
 		log.info("Get booking {}, userId={}", bookingId, userId);
 		return bookingClient.getBooking(userId, bookingId);
 	}
+
+	// выгрузка может идти дольше таймаута асинхронных запросов, поэтому тело копируется в потоке запроса
+	private static void pipe(CompletableFuture<ResponseEntity<InputStream>> upstream,
+			HttpServletResponse response) throws IOException {
+		ResponseEntity<InputStream> serverResponse = upstream.join();
+		response.setStatus(serverResponse.getStatusCode().value());
+		serverResponse.getHeaders().forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+		if (serverResponse.getBody() == null) {
+			return;
+		}
+		try (InputStream in = serverResponse.getBody()) {
+			OutputStream out = response.getOutputStream();
+			in.transferTo(out);
+			out.flush();
+		}
+	}
 }
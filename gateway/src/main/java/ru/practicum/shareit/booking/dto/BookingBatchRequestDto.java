@@ -0,0 +1,22 @@
+package ru.practicum.shareit.booking.dto;
+
+import java.util.List;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingBatchRequestDto {
+	@NotEmpty(message = "Список бронирований не может быть пустым")
+	@Size(max = 1000, message = "За один запрос можно обработать не более 1000 бронирований")
+	private List<@NotNull(message = "ID бронирования не может быть пустым") @Positive Long> bookingIds;
+
+	@NotNull(message = "Решение по бронированиям не может быть пустым")
+	private Boolean approved;
+}
@@ -0,0 +1,29 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.http")
+public class GatewayHttpProperties {
+    private int maxConnections = 1000;
+    private int maxConnectionsPerRoute = 1000;
+    private int ioThreads = Runtime.getRuntime().availableProcessors();
+    private Duration connectTimeout = Duration.ofSeconds(2);
+    private Duration responseTimeout = Duration.ofSeconds(10);
+    // меньше keepAliveTimeout Tomcat на сервере (20 секунд), чтобы не переиспользовать закрытые соединения
+    private Duration keepAlive = Duration.ofSeconds(15);
+    private Duration idleEviction = Duration.ofSeconds(10);
+    // таймаут ответа для отдельных маршрутов, ключ - префикс API без слеша: bookings, items, requests, users
+    private Map<String, Duration> routeTimeouts = new HashMap<>();
+
+    public Duration getResponseTimeout(String route) {
+        return routeTimeouts.getOrDefault(route, responseTimeout);
+    }
+}
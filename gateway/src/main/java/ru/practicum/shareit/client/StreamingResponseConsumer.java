@@ -0,0 +1,117 @@
+package ru.practicum.shareit.client;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.EntityDetails;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpResponse;
+import org.apache.hc.core5.http.nio.AsyncResponseConsumer;
+import org.apache.hc.core5.http.nio.CapacityChannel;
+import org.apache.hc.core5.http.nio.support.classic.SharedInputBuffer;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Отдаёт тело ответа сервера как поток по мере получения. Буфер ограничен: пока читатель не освободит место,
+ * соединение с сервером не читается, поэтому медленный клиент притормаживает сервер, а не копится в памяти шлюза.
+ */
+class StreamingResponseConsumer implements AsyncResponseConsumer<Void> {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final SharedInputBuffer buffer = new SharedInputBuffer(BUFFER_SIZE);
+    private final CompletableFuture<ResponseEntity<InputStream>> response = new CompletableFuture<>();
+    private volatile Future<Void> exchange;
+    private volatile FutureCallback<Void> resultCallback;
+    private volatile Exception failure;
+
+    CompletableFuture<ResponseEntity<InputStream>> getResponse() {
+        return response;
+    }
+
+    void setExchange(Future<Void> exchange) {
+        this.exchange = exchange;
+    }
+
+    @Override
+    public void consumeResponse(HttpResponse head, EntityDetails entityDetails, HttpContext context,
+                                FutureCallback<Void> resultCallback) {
+        this.resultCallback = resultCallback;
+        ResponseEntity.BodyBuilder builder = BaseClient.copyHeaders(head, ResponseEntity.status(head.getCode()));
+        if (entityDetails == null) {
+            response.complete(builder.build());
+            resultCallback.completed(null);
+            return;
+        }
+        response.complete(builder.body(new BodyStream()));
+    }
+
+    @Override
+    public void informationResponse(HttpResponse head, HttpContext context) {
+    }
+
+    @Override
+    public void updateCapacity(CapacityChannel capacityChannel) throws IOException {
+        buffer.updateCapacity(capacityChannel);
+    }
+
+    @Override
+    public void consume(ByteBuffer src) {
+        buffer.fill(src);
+    }
+
+    @Override
+    public void streamEnd(List<? extends Header> trailers) {
+        buffer.markEndStream();
+        resultCallback.completed(null);
+    }
+
+    @Override
+    public void failed(Exception cause) {
+        failure = cause;
+        buffer.abort();
+        response.completeExceptionally(cause);
+    }
+
+    @Override
+    public void releaseResources() {
+    }
+
+    private class BodyStream extends InputStream {
+
+        @Override
+        public int read() throws IOException {
+            return checkFailure(buffer.read());
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            return checkFailure(buffer.read(b, off, len));
+        }
+
+        // оборванный ответ не должен выглядеть для клиента как полностью переданный
+        private int checkFailure(int result) throws IOException {
+            if (result == -1 && failure != null) {
+                throw new IOException("Передача ответа сервера прервана", failure);
+            }
+            return result;
+        }
+
+        // недочитанный ответ не дочитывается до конца: обмен с сервером прерывается
+        @Override
+        public void close() {
+            if (!buffer.isEndStream() || buffer.hasData()) {
+                Future<Void> current = exchange;
+                if (current != null) {
+                    current.cancel(true);
+                }
+                buffer.abort();
+            }
+        }
+    }
+}
@@ -1,56 +1,70 @@
 package ru.practicum.shareit.item;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.GatewayHttpProperties;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.CommentDto;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
-        );
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, CloseableHttpAsyncClient client,
+            ObjectMapper objectMapper, GatewayHttpProperties properties) {
+        super(serverUrl + API_PREFIX, client, objectMapper, properties.getResponseTimeout("items"));
     }
 
-    public ResponseEntity<Object> createItem(long userId, ItemDto itemDto) {
+    public CompletableFuture<ResponseEntity<Object>> createItem(long userId, ItemDto itemDto) {
         return post("", userId, itemDto);
     }
 
-    public ResponseEntity<Object> updateItem(long userId, long itemId, ItemDto itemDto) {
+    public CompletableFuture<ResponseEntity<Object>> updateItem(long userId, long itemId, ItemDto itemDto) {
         return patch("/" + itemId, userId, itemDto);
     }
 
-    public ResponseEntity<Object> getItem(long userId, long itemId) {
+    public CompletableFuture<ResponseEntity<Object>> getItem(long userId, long itemId) {
         return get("/" + itemId, userId);
     }
 
-    public ResponseEntity<Object> getItems(long userId) {
+    public CompletableFuture<ResponseEntity<Object>> getItems(long userId) {
         return get("", userId);
     }
 
-    public ResponseEntity<Object> search(long userId, String text) {
+    public CompletableFuture<ResponseEntity<Object>> getOwnerSummary(long userId) {
+        return get("/owner/summary", userId);
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> search(long userId, String text, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
-                "text", text
+                "text", text,
+                "from", from,
+                "size", size
         );
-        return get("/search?text={text}", userId, parameters);
+        return get("/search?text={text}&from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> addComment(long userId, long itemId, CommentDto commentDto) {
+    public CompletableFuture<ResponseEntity<Object>> addComment(long userId, long itemId, CommentDto commentDto) {
         return post("/" + itemId + "/comment", userId, commentDto);
     }
+
+    public CompletableFuture<ResponseEntity<Object>> getComments(long userId, long itemId, Long beforeId, int size) {
+        if (beforeId == null) {
+            return get("/" + itemId + "/comments?size={size}", userId, Map.of("size", size));
+        }
+        Map<String, Object> parameters = Map.of(
+                "beforeId", beforeId,
+                "size", size
+        );
+        return get("/" + itemId + "/comments?beforeId={beforeId}&size={size}", userId, parameters);
+    }
 }
\ No newline at end of file
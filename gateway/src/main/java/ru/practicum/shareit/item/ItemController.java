@@ -1,4 +1,50 @@
 package ru.practicum.shareit.item;
 
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Controller
+@RequestMapping(path = "/items")
+@RequiredArgsConstructor
+@Slf4j
+@Validated
 public class ItemController {
+	private final ItemClient itemClient;
+
+	@GetMapping("/owner/summary")
+	public CompletableFuture<ResponseEntity<Object>> getOwnerSummary(@RequestHeader("X-Sharer-User-Id") long userId) {
+		log.info("Get owner items summary, userId={}", userId);
+		return itemClient.getOwnerSummary(userId);
+	}
+
+	@GetMapping("/search")
+	public CompletableFuture<ResponseEntity<Object>> search(@RequestHeader("X-Sharer-User-Id") long userId,
+			@RequestParam(name = "text") String text,
+			@PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+			@Positive @RequestParam(name = "size", defaultValue = "100") Integer size) {
+		log.info("Search items by text '{}', userId={}, from={}, size={}", text, userId, from, size);
+		return itemClient.search(userId, text, from, size);
+	}
+
+	@GetMapping("/{itemId}/comments")
+	public CompletableFuture<ResponseEntity<Object>> getComments(@RequestHeader("X-Sharer-User-Id") long userId,
+			@PathVariable long itemId,
+			@Positive @RequestParam(name = "beforeId", required = false) Long beforeId,
+			@Positive @RequestParam(name = "size", defaultValue = "20") Integer size) {
+		log.info("Get comments of item {}, userId={}, beforeId={}, size={}", itemId, userId, beforeId, size);
+		return itemClient.getComments(userId, itemId, beforeId, size);
+	}
 }
@@ -11,6 +11,8 @@ import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
+import java.util.concurrent.CompletableFuture;
+
 @Controller
 @RequestMapping(path = "/requests")
 @RequiredArgsConstructor
@@ -20,7 +22,7 @@ public class ItemRequestController {
     private final ItemRequestClient itemRequestClient;
 
     @PostMapping
-    public ResponseEntity<Object> create(@RequestHeader("X-Sharer-User-Id") long userId,
+    public CompletableFuture<ResponseEntity<Object>> create(@RequestHeader("X-Sharer-User-Id") long userId,
         @RequestBody
         @Valid ItemRequestDto itemRequestDto) {
         log.info("Gateway: Создание запроса {}, userId={}", itemRequestDto, userId);
@@ -28,13 +30,13 @@ public class ItemRequestController {
     }
 
     @GetMapping
-    public ResponseEntity<Object> getUserRequests(@RequestHeader("X-Sharer-User-Id") long userId) {
+    public CompletableFuture<ResponseEntity<Object>> getUserRequests(@RequestHeader("X-Sharer-User-Id") long userId) {
         log.info("Gateway: Получение своих запросов для пользователя {}", userId);
         return itemRequestClient.getUserRequests(userId);
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Object> getAllRequests(@RequestHeader("X-Sharer-User-Id") long userId,
+    public CompletableFuture<ResponseEntity<Object>> getAllRequests(@RequestHeader("X-Sharer-User-Id") long userId,
         @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
         @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
         log.info("Gateway: Получение всех запросов, userId={}, from={}, size={}", userId, from, size);
@@ -42,7 +44,7 @@ public class ItemRequestController {
     }
 
     @GetMapping("/{requestId}")
-    public ResponseEntity<Object> getById(@RequestHeader("X-Sharer-User-Id") long userId,
+    public CompletableFuture<ResponseEntity<Object>> getById(@RequestHeader("X-Sharer-User-Id") long userId,
         @PathVariable Long requestId) {
         log.info("Gateway: Получение запроса {}, userId={}", requestId, userId);
         return itemRequestClient.getRequestById(userId, requestId);
@@ -9,6 +9,8 @@ import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import java.util.concurrent.CompletableFuture;
+
 @Controller
 @RequestMapping(path = "/users")
 @RequiredArgsConstructor
@@ -18,31 +20,31 @@ public class UserController {
     private final UserClient userClient;
 
     @GetMapping
-    public ResponseEntity<Object> getUsers() {
+    public CompletableFuture<ResponseEntity<Object>> getUsers() {
         log.info("Gateway: Получение всех пользователей");
         return userClient.getUsers();
     }
 
     @GetMapping("/{userId}")
-    public ResponseEntity<Object> getUser(@PathVariable long userId) {
+    public CompletableFuture<ResponseEntity<Object>> getUser(@PathVariable long userId) {
         log.info("Gateway: Получение пользователя id={}", userId);
         return userClient.getUser(userId);
     }
 
     @PostMapping
-    public ResponseEntity<Object> createUser(@RequestBody @Valid UserDto userDto) {
+    public CompletableFuture<ResponseEntity<Object>> createUser(@RequestBody @Valid UserDto userDto) {
         log.info("Gateway: Создание пользователя {}", userDto);
         return userClient.createUser(userDto);
     }
 
     @PatchMapping("/{userId}")
-    public ResponseEntity<Object> updateUser(@PathVariable long userId, @RequestBody UserDto userDto) {
+    public CompletableFuture<ResponseEntity<Object>> updateUser(@PathVariable long userId, @RequestBody UserDto userDto) {
         log.info("Gateway: Обновление пользователя id={}", userId);
         return userClient.updateUser(userId, userDto);
     }
 
     @DeleteMapping("/{userId}")
-    public ResponseEntity<Object> deleteUser(@PathVariable long userId) {
+    public CompletableFuture<ResponseEntity<Object>> deleteUser(@PathVariable long userId) {
         log.info("Gateway: Удаление пользователя id={}", userId);
         return userClient.deleteUser(userId);
     }
@@ -0,0 +1,59 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = BookingController.class)
+class BookingControllerTest {
+
+    @MockBean
+    private BookingClient bookingClient;
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Test
+    void exportOwnerBookingsPipesServerStream() throws Exception {
+        String body = "{\"id\":1}\n{\"id\":2}\n";
+        when(bookingClient.exportOwnerBookings(1L)).thenReturn(CompletableFuture.completedFuture(
+                ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .body((InputStream) new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)))));
+
+        mvc.perform(get("/bookings/owner/export").header("X-Sharer-User-Id", 1L))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(body));
+    }
+
+    @Test
+    void exportBookingsPassesServerErrorThrough() throws Exception {
+        String body = "{\"error\":\"Пользователь с id=9 не найден\"}";
+        when(bookingClient.exportBookings(9L)).thenReturn(CompletableFuture.completedFuture(
+                ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body((InputStream) new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)))));
+
+        mvc.perform(get("/bookings/export").header("X-Sharer-User-Id", 9L))
+                .andExpect(status().isNotFound())
+                .andExpect(content().bytes(body.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,162 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BaseClientTest {
+    private static final int EXPORT_LINES = 200_000;
+
+    private HttpServer server;
+    private ExecutorService executor;
+    private CloseableHttpAsyncClient httpClient;
+    private TestClient client;
+    private TestClient slowClient;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        executor = Executors.newFixedThreadPool(64);
+        server.setExecutor(executor);
+        server.createContext("/users/1", exchange -> {
+            String userId = exchange.getRequestHeaders().getFirst("X-Sharer-User-Id");
+            respond(exchange, 200, "{\"id\":1,\"sharer\":\"" + userId + "\"}");
+        });
+        server.createContext("/users/404", exchange -> respond(exchange, 404, "{\"error\":\"не найден\"}"));
+        server.createContext("/users/export", exchange -> {
+            exchange.getResponseHeaders().add("Content-Type", "application/x-ndjson");
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream out = exchange.getResponseBody()) {
+                for (int i = 0; i < EXPORT_LINES; i++) {
+                    out.write(("{\"id\":" + i + "}\n").getBytes(StandardCharsets.UTF_8));
+                }
+            }
+        });
+        server.createContext("/users/slow", exchange -> {
+            try {
+                Thread.sleep(3000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, 200, "{}");
+        });
+        server.start();
+
+        GatewayHttpProperties properties = new GatewayHttpProperties();
+        properties.setIoThreads(1);
+        properties.setRouteTimeouts(Map.of("slow", Duration.ofMillis(500)));
+        httpClient = new GatewayHttpConfig().shareItServerHttpClient(properties);
+        String baseUrl = "http://localhost:" + server.getAddress().getPort() + "/users";
+        client = new TestClient(baseUrl, httpClient, properties.getResponseTimeout("users"));
+        slowClient = new TestClient(baseUrl, httpClient, properties.getResponseTimeout("slow"));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        httpClient.close();
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    @Test
+    void forwardsUserHeaderAndPassesSuccessfulBodyThrough() throws Exception {
+        ResponseEntity<Object> response = client.get("/1", 7L).get(5, TimeUnit.SECONDS);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(new String((byte[]) response.getBody(), StandardCharsets.UTF_8))
+                .isEqualTo("{\"id\":1,\"sharer\":\"7\"}");
+    }
+
+    @Test
+    void returnsErrorBodyAsIs() throws Exception {
+        ResponseEntity<Object> response = client.get("/404", 7L).get(5, TimeUnit.SECONDS);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(new String((byte[]) response.getBody(), StandardCharsets.UTF_8))
+                .isEqualTo("{\"error\":\"не найден\"}");
+    }
+
+    @Test
+    void failsWhenRouteTimeoutExceeded() {
+        assertThatThrownBy(() -> slowClient.get("/slow", 7L).get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class);
+    }
+
+    @Test
+    void handlesManyConcurrentRequestsOnSingleIoThread() throws Exception {
+        List<CompletableFuture<ResponseEntity<Object>>> futures = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            futures.add(client.get("/1", i));
+        }
+
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(30, TimeUnit.SECONDS);
+
+        assertThat(futures).allSatisfy(future -> assertThat(future.join().getStatusCode()).isEqualTo(HttpStatus.OK));
+    }
+
+    @Test
+    void streamsChunkedBodyWithoutBuffering() throws Exception {
+        ResponseEntity<InputStream> response = client.stream("/export", 7L).get(5, TimeUnit.SECONDS);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_NDJSON);
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(response.getBody(), StandardCharsets.UTF_8))) {
+            assertThat(reader.lines().count()).isEqualTo(EXPORT_LINES);
+        }
+    }
+
+    @Test
+    void closingStreamEarlyReleasesConnection() throws Exception {
+        ResponseEntity<InputStream> response = client.stream("/export", 7L).get(5, TimeUnit.SECONDS);
+        response.getBody().readNBytes(100);
+        response.getBody().close();
+
+        ResponseEntity<Object> next = client.get("/1", 7L).get(5, TimeUnit.SECONDS);
+
+        assertThat(next.getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+        exchange.close();
+    }
+
+    private static class TestClient extends BaseClient {
+        TestClient(String baseUrl, CloseableHttpAsyncClient client, Duration responseTimeout) {
+            super(baseUrl, client, new ObjectMapper(), responseTimeout);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = ItemController.class)
+class ItemControllerValidationTest {
+
+    @MockBean
+    private ItemClient itemClient;
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Test
+    void getCommentsForwardsDefaultPage() throws Exception {
+        String response = "[{\"id\":3,\"text\":\"Отличная дрель\"}]";
+        when(itemClient.getComments(eq(1L), eq(5L), isNull(), eq(20))).thenReturn(ok(response));
+
+        MvcResult result = mvc.perform(get("/items/5/comments")
+                        .header("X-Sharer-User-Id", 1L))
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().json(response));
+    }
+
+    @Test
+    void getCommentsRejectsNonPositiveSize() throws Exception {
+        mvc.perform(get("/items/5/comments")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("size", "0"))
+                .andExpect(status().isBadRequest());
+
+        verify(itemClient, never()).getComments(anyLong(), anyLong(), any(), anyInt());
+    }
+
+    @Test
+    void getCommentsRejectsNonPositiveBeforeId() throws Exception {
+        mvc.perform(get("/items/5/comments")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("beforeId", "-1"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getOwnerSummaryForwardsToServer() throws Exception {
+        String response = "{\"items\":[]}";
+        when(itemClient.getOwnerSummary(1L)).thenReturn(ok(response));
+
+        MvcResult result = mvc.perform(get("/items/owner/summary")
+                        .header("X-Sharer-User-Id", 1L))
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().json(response));
+    }
+
+    @Test
+    void getOwnerSummaryRequiresUserHeader() throws Exception {
+        mvc.perform(get("/items/owner/summary"))
+                .andExpect(status().isBadRequest());
+
+        verify(itemClient, never()).getOwnerSummary(anyLong());
+    }
+
+    @Test
+    void searchForwardsPage() throws Exception {
+        String response = "[{\"id\":1,\"name\":\"Дрель\"}]";
+        when(itemClient.search(1L, "дрель", 20, 10)).thenReturn(ok(response));
+
+        MvcResult result = mvc.perform(get("/items/search")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("text", "дрель")
+                        .param("from", "20")
+                        .param("size", "10"))
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().json(response));
+    }
+
+    @Test
+    void searchRejectsNegativeFrom() throws Exception {
+        mvc.perform(get("/items/search")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("text", "дрель")
+                        .param("from", "-1"))
+                .andExpect(status().isBadRequest());
+
+        verify(itemClient, never()).search(anyLong(), any(), any(), any());
+    }
+
+    @Test
+    void searchRejectsZeroSize() throws Exception {
+        mvc.perform(get("/items/search")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("text", "дрель")
+                        .param("size", "0"))
+                .andExpect(status().isBadRequest());
+
+        verify(itemClient, never()).search(anyLong(), any(), any(), any());
+    }
+
+    private static CompletableFuture<ResponseEntity<Object>> ok(String body) {
+        return CompletableFuture.completedFuture(ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,68 @@
+package ru.practicum.shareit.user;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = UserController.class)
+class UserControllerTest {
+
+    @MockBean
+    private UserClient userClient;
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Test
+    void getUserPassesServerBodyThroughUnchanged() throws Exception {
+        String body = "{\"id\":1,  \"name\":\"Daniel\",\"email\":\"daniel@mail.com\"}";
+        when(userClient.getUser(anyLong())).thenReturn(CompletableFuture.completedFuture(
+                ResponseEntity.ok()
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .body(body.getBytes(StandardCharsets.UTF_8))));
+
+        MvcResult result = mvc.perform(get("/users/1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().string(body));
+    }
+
+    @Test
+    void getUserPassesServerErrorThrough() throws Exception {
+        String body = "{\"error\":\"Пользователь не найден\"}";
+        when(userClient.getUser(anyLong())).thenReturn(CompletableFuture.completedFuture(
+                ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .header(HttpHeaders.CONTENT_TYPE, "application/json;charset=UTF-8")
+                        .body(body.getBytes(StandardCharsets.UTF_8))));
+
+        MvcResult result = mvc.perform(get("/users/1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotFound())
+                .andExpect(content().bytes(body.getBytes(StandardCharsets.UTF_8)));
+    }
+}
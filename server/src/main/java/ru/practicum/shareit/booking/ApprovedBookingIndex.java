@@ -0,0 +1,147 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.exception.ConflictException;
+import ru.practicum.shareit.util.TransactionUtils;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Подтверждённые бронирования каждой вещи, упорядоченные по дате начала.
+ * Подтверждённые интервалы одной вещи не пересекаются, поэтому для проверки нового интервала
+ * достаточно сравнить его с ближайшим бронированием, начавшимся раньше его окончания.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ApprovedBookingIndex {
+    private static final int LOAD_BATCH_SIZE = 1000;
+    private static final int STRIPES = 64;
+
+    private final BookingRepository bookingRepository;
+
+    private final Map<Long, NavigableMap<LocalDateTime, Slot>> slots = new ConcurrentHashMap<>();
+    private final ReentrantLock[] locks = createLocks();
+
+    @PostConstruct
+    public void rebuild() {
+        slots.clear();
+        long lastId = 0;
+        int count = 0;
+        List<Booking> batch;
+        do {
+            batch = bookingRepository.findTop1000ByStatusAndIdGreaterThanOrderByIdAsc(BookingStatus.APPROVED, lastId);
+            for (Booking booking : batch) {
+                slots.computeIfAbsent(booking.getItem().getId(), id -> new TreeMap<>())
+                        .put(booking.getStart(), toSlot(booking));
+                lastId = booking.getId();
+            }
+            count += batch.size();
+        } while (batch.size() == LOAD_BATCH_SIZE);
+        log.info("Индекс подтверждённых бронирований построен: {} бронирований, {} вещей", count, slots.size());
+    }
+
+    /**
+     * Занимает интервал бронирования сразу, чтобы параллельные подтверждения его видели,
+     * и освобождает его, если транзакция подтверждения не зафиксируется.
+     */
+    public void reserve(Booking booking) {
+        Long itemId = booking.getItem().getId();
+        Slot slot = toSlot(booking);
+        ReentrantLock lock = lockFor(itemId);
+        lock.lock();
+        try {
+            NavigableMap<LocalDateTime, Slot> itemSlots = slots.computeIfAbsent(itemId, id -> new TreeMap<>());
+            Map.Entry<LocalDateTime, Slot> previous = itemSlots.lowerEntry(slot.getEnd());
+            // занятый этим же бронированием слот тоже конфликт: у бронирования не может быть двух владельцев резерва
+            if (previous != null && previous.getValue().getEnd().isAfter(slot.getStart())) {
+                throw new ConflictException("Вещь с id=" + itemId + " уже забронирована с "
+                        + previous.getValue().getStart() + " по " + previous.getValue().getEnd());
+            }
+            itemSlots.put(slot.getStart(), slot);
+        } finally {
+            lock.unlock();
+        }
+        TransactionUtils.afterRollback(() -> release(itemId, slot));
+    }
+
+    public void release(Booking booking) {
+        release(booking.getItem().getId(), toSlot(booking));
+    }
+
+    public void removeBooker(Long bookerId) {
+        TransactionUtils.afterCommit(() -> slots.forEach((itemId, itemSlots) -> {
+            ReentrantLock lock = lockFor(itemId);
+            lock.lock();
+            try {
+                itemSlots.values().removeIf(slot -> slot.getBookerId().equals(bookerId));
+            } finally {
+                lock.unlock();
+            }
+        }));
+    }
+
+    /**
+     * Убирает интервалы вещей, удалённых каскадом вместе с владельцем. Вызывается после фиксации.
+     */
+    public void removeItems(Collection<Long> itemIds) {
+        for (Long itemId : itemIds) {
+            ReentrantLock lock = lockFor(itemId);
+            lock.lock();
+            try {
+                slots.remove(itemId);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void release(Long itemId, Slot slot) {
+        ReentrantLock lock = lockFor(itemId);
+        lock.lock();
+        try {
+            NavigableMap<LocalDateTime, Slot> itemSlots = slots.get(itemId);
+            Slot reserved = itemSlots == null ? null : itemSlots.get(slot.getStart());
+            if (reserved != null && reserved.getBookingId().equals(slot.getBookingId())) {
+                itemSlots.remove(slot.getStart());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private ReentrantLock lockFor(Long itemId) {
+        return locks[Math.floorMod(itemId.hashCode(), STRIPES)];
+    }
+
+    private static ReentrantLock[] createLocks() {
+        ReentrantLock[] locks = new ReentrantLock[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        return locks;
+    }
+
+    private static Slot toSlot(Booking booking) {
+        return new Slot(booking.getStart(), booking.getEnd(), booking.getId(), booking.getBooker().getId());
+    }
+
+    @Value
+    private static class Slot {
+        LocalDateTime start;
+        LocalDateTime end;
+        Long bookingId;
+        Long bookerId;
+    }
+}
@@ -36,4 +36,7 @@ public class Booking {
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private BookingStatus status;
+
+    @Version
+    private Long version;
 }
\ No newline at end of file
@@ -0,0 +1,12 @@
+package ru.practicum.shareit.booking;
+
+import java.util.List;
+
+public interface BookingBatchRepository {
+
+    /**
+     * Меняет статус ожидающих бронирований одним JDBC-пакетом с проверкой версии.
+     * Возвращает число обновлённых строк для каждого бронирования в порядке списка.
+     */
+    int[] updateWaitingStatuses(List<Booking> bookings, BookingStatus status);
+}
@@ -0,0 +1,38 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class BookingBatchRepositoryImpl implements BookingBatchRepository {
+    private static final String UPDATE_WAITING_STATUS = "UPDATE bookings SET status = ?, version = version + 1 " +
+            "WHERE id = ? AND version = ? AND status = 'WAITING'";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int[] updateWaitingStatuses(List<Booking> bookings, BookingStatus status) {
+        if (bookings.isEmpty()) {
+            return new int[0];
+        }
+        return jdbcTemplate.batchUpdate(UPDATE_WAITING_STATUS, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Booking booking = bookings.get(i);
+                ps.setString(1, status.name());
+                ps.setLong(2, booking.getId());
+                ps.setLong(3, booking.getVersion());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return bookings.size();
+            }
+        });
+    }
+}
@@ -1,12 +1,23 @@
 package ru.practicum.shareit.booking;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.booking.dto.BookingBatchRequestDto;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.user.CurrentUser;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 @Slf4j
 @RestController
@@ -14,6 +25,8 @@ import java.util.List;
 @RequiredArgsConstructor
 public class BookingController {
     private final BookingService bookingService;
+    private final CurrentUser currentUser;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public BookingDto create(@RequestHeader("X-Sharer-User-Id") Long userId,
@@ -31,6 +44,15 @@ public class BookingController {
         return bookingService.approve(userId, bookingId, approved);
     }
 
+    @PatchMapping("/batch")
+    public List<BookingBatchResultDto> approveAll(@RequestHeader("X-Sharer-User-Id") Long userId,
+        @Valid
+        @RequestBody BookingBatchRequestDto request) {
+        log.info("Запрос на пакетное подтверждение {} бронирований от пользователя ID: {}",
+                request.getBookingIds().size(), userId);
+        return bookingService.approveAll(userId, request);
+    }
+
     @GetMapping("/{bookingId}")
     public BookingDto getById(@RequestHeader("X-Sharer-User-Id") Long userId,
         @PathVariable Long bookingId) {
@@ -40,15 +62,61 @@ public class BookingController {
 
     @GetMapping
     public List<BookingDto> getAllByBooker(@RequestHeader("X-Sharer-User-Id") Long userId,
-        @RequestParam(defaultValue = "ALL") String state) {
-        log.info("Запрос всех бронирований пользователя ID: {} со статусом: {}", userId, state);
-        return bookingService.getAllByBooker(userId, state);
+        @RequestParam(defaultValue = "ALL") String state,
+        @RequestParam(defaultValue = "0") Integer from,
+        @RequestParam(defaultValue = "10") Integer size) {
+        log.info("Запрос всех бронирований пользователя ID: {} со статусом: {}, from={}, size={}", userId, state, from, size);
+        return bookingService.getAllByBooker(userId, state, from, size);
     }
 
     @GetMapping("/owner")
     public List<BookingDto> getAllByOwner(@RequestHeader("X-Sharer-User-Id") Long userId,
-        @RequestParam(defaultValue = "ALL") String state) {
-        log.info("Запрос бронирований для владельца ID: {} со статусом: {}", userId, state);
-        return bookingService.getAllByOwner(userId, state);
+        @RequestParam(defaultValue = "ALL") String state,
+        @RequestParam(defaultValue = "0") Integer from,
+        @RequestParam(defaultValue = "10") Integer size) {
+        log.info("Запрос бронирований для владельца ID: {} со статусом: {}, from={}, size={}", userId, state, from, size);
+        return bookingService.getAllByOwner(userId, state, from, size);
+    }
+
+    @GetMapping("/counts")
+    public Map<BookingState, Long> countByBooker(@RequestHeader("X-Sharer-User-Id") Long userId) {
+        log.info("Запрос числа бронирований по состояниям для пользователя ID: {}", userId);
+        return bookingService.countByBooker(userId);
+    }
+
+    @GetMapping("/owner/counts")
+    public Map<BookingState, Long> countByOwner(@RequestHeader("X-Sharer-User-Id") Long userId) {
+        log.info("Запрос числа бронирований по состояниям для владельца ID: {}", userId);
+        return bookingService.countByOwner(userId);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportByBooker(@RequestHeader("X-Sharer-User-Id") Long userId) {
+        log.info("Запрос выгрузки всех бронирований пользователя ID: {}", userId);
+        currentUser.get(userId);
+        return toNdjson(consumer -> bookingService.exportByBooker(userId, consumer));
+    }
+
+    @GetMapping("/owner/export")
+    public ResponseEntity<StreamingResponseBody> exportByOwner(@RequestHeader("X-Sharer-User-Id") Long userId) {
+        log.info("Запрос выгрузки всех бронирований владельца ID: {}", userId);
+        currentUser.get(userId);
+        return toNdjson(consumer -> bookingService.exportByOwner(userId, consumer));
+    }
+
+    // пользователь проверяется до начала выгрузки: после первой записи статус ответа уже не изменить.
+    // Каждое бронирование пишется отдельной строкой сразу после чтения из курсора
+    private ResponseEntity<StreamingResponseBody> toNdjson(Consumer<Consumer<BookingDto>> export) {
+        StreamingResponseBody body = out -> export.accept(booking -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(booking));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
-}
\ No newline at end of file
+}
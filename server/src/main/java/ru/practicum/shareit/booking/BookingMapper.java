@@ -19,6 +19,12 @@ public class BookingMapper {
                 .build();
     }
 
+    public static BookingDto toBookingDto(BookingWithState bookingWithState) {
+        BookingDto dto = toBookingDto(bookingWithState.getBooking());
+        dto.setState(bookingWithState.getState());
+        return dto;
+    }
+
     public static Booking toBooking(BookingDto bookingDto) {
         return Booking.builder()
                 .id(bookingDto.getId())
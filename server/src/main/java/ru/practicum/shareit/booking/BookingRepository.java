@@ -1,32 +1,70 @@
 package ru.practicum.shareit.booking;
 
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
-
-public interface BookingRepository extends JpaRepository<Booking, Long> {
-
-    List<Booking> findAllByBookerId(Long bookerId, Sort sort);
-
-    List<Booking> findAllByBookerIdAndStartBeforeAndEndAfter(Long bookerId, LocalDateTime start, LocalDateTime end, Sort sort);
-
-    List<Booking> findAllByBookerIdAndEndBefore(Long bookerId, LocalDateTime end, Sort sort);
-
-    List<Booking> findAllByBookerIdAndStartAfter(Long bookerId, LocalDateTime start, Sort sort);
-
-    List<Booking> findAllByBookerIdAndStatus(Long bookerId, BookingStatus status, Sort sort);
-
-    List<Booking> findAllByItemOwnerId(Long ownerId, Sort sort);
-
-    List<Booking> findAllByItemOwnerIdAndStartBeforeAndEndAfter(Long ownerId, LocalDateTime start, LocalDateTime end, Sort sort);
-
-    List<Booking> findAllByItemOwnerIdAndEndBefore(Long ownerId, LocalDateTime end, Sort sort);
-
-    List<Booking> findAllByItemOwnerIdAndStartAfter(Long ownerId, LocalDateTime start, Sort sort);
-
-    List<Booking> findAllByItemOwnerIdAndStatus(Long ownerId, BookingStatus status, Sort sort);
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingBatchRepository {
+    String EXPORT_FETCH_SIZE = "500";
+
+    @Override
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Optional<Booking> findById(Long id);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    List<Booking> findAllByIdIn(Collection<Long> ids);
+
+    // состояние по времени вычисляется в запросе относительно одного момента :now, WAITING и REJECTED - по статусу.
+    // Бронирование, которое начинается или заканчивается ровно в :now, не попадает ни в одно состояние по времени
+    String TIME_STATE = "case when b.end < :now then 'PAST' when b.start > :now then 'FUTURE' "
+            + "when b.start < :now and b.end > :now then 'CURRENT' end";
+    String STATE_FILTER = "(:state = 'ALL' or " + TIME_STATE + " = :state or cast(b.status as String) = :state)";
+    String STATE_COUNTS = "select new ru.practicum.shareit.booking.BookingStateCounts(count(b), "
+            + "count(case when b.start < :now and b.end > :now then 1 end), "
+            + "count(case when b.end < :now then 1 end), "
+            + "count(case when b.start > :now then 1 end), "
+            + "count(case when b.status = ru.practicum.shareit.booking.BookingStatus.WAITING then 1 end), "
+            + "count(case when b.status = ru.practicum.shareit.booking.BookingStatus.REJECTED then 1 end)) ";
+
+    @Query("select new ru.practicum.shareit.booking.BookingWithState(b, " + TIME_STATE + ") from Booking b "
+            + "join fetch b.item join fetch b.booker where b.booker.id = :bookerId and " + STATE_FILTER)
+    Slice<BookingWithState> findAllByBookerIdAndState(Long bookerId, String state, LocalDateTime now, Pageable pageable);
+
+    @Query("select new ru.practicum.shareit.booking.BookingWithState(b, " + TIME_STATE + ") from Booking b "
+            + "join fetch b.item join fetch b.booker where b.item.owner.id = :ownerId and " + STATE_FILTER)
+    Slice<BookingWithState> findAllByItemOwnerIdAndState(Long ownerId, String state, LocalDateTime now, Pageable pageable);
+
+    @Query(STATE_COUNTS + "from Booking b where b.booker.id = :bookerId")
+    BookingStateCounts countByBookerId(Long bookerId, LocalDateTime now);
+
+    @Query(STATE_COUNTS + "from Booking b where b.item.owner.id = :ownerId")
+    BookingStateCounts countByItemOwnerId(Long ownerId, LocalDateTime now);
+
+    // выгрузка всей истории читает курсором: драйвер получает строки порциями по EXPORT_FETCH_SIZE
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    Stream<Booking> streamAllByBookerIdOrderByStartDescIdDesc(Long bookerId);
+
+    // выведенный из имени запрос соединяет items через left join и сканирует всю таблицу bookings
+    @Query("select b from Booking b join fetch b.item i join fetch b.booker where i.owner.id = ?1 "
+            + "order by b.start desc, b.id desc")
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    Stream<Booking> streamAllByItemOwnerIdOrderByStartDescIdDesc(Long ownerId);
 
     List<Booking> findAllByItemIdAndStatus(Long itemId, BookingStatus status, Sort sort);
 
@@ -34,7 +72,12 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
 
     boolean existsByBookerIdAndItemIdAndEndBeforeAndStatus(Long bookerId, Long itemId, LocalDateTime end, BookingStatus status);
 
-    List<Booking> findAllByItemIdAndStatusNot(Long itemId, BookingStatus status, Sort sort);
+    List<Booking> findTop1000ByStatusNotAndIdGreaterThanOrderByIdAsc(BookingStatus status, Long id);
+
+    List<Booking> findTop1000ByStatusAndIdGreaterThanOrderByIdAsc(BookingStatus status, Long id);
 
-    List<Booking> findAllByItemIdInAndStatusNot(List<Long> itemIds, BookingStatus status, Sort sort);
-}
\ No newline at end of file
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Booking b set b.status = ?3, b.version = b.version + 1 " +
+            "where b.id = ?1 and b.version = ?2 and b.status = ru.practicum.shareit.booking.BookingStatus.WAITING")
+    int updateWaitingStatus(Long id, Long version, BookingStatus status);
+}
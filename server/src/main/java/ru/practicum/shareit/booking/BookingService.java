@@ -1,17 +1,31 @@
 package ru.practicum.shareit.booking;
 
+import ru.practicum.shareit.booking.dto.BookingBatchRequestDto;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 public interface BookingService {
     BookingDto create(Long userId, BookingDto bookingDto);
 
     BookingDto approve(Long userId, Long bookingId, Boolean approved);
 
+    List<BookingBatchResultDto> approveAll(Long userId, BookingBatchRequestDto request);
+
     BookingDto getById(Long userId, Long bookingId);
 
-    List<BookingDto> getAllByBooker(Long userId, String state);
+    List<BookingDto> getAllByBooker(Long userId, String state, Integer from, Integer size);
+
+    List<BookingDto> getAllByOwner(Long userId, String state, Integer from, Integer size);
+
+    Map<BookingState, Long> countByBooker(Long userId);
+
+    Map<BookingState, Long> countByOwner(Long userId);
+
+    void exportByBooker(Long userId, Consumer<BookingDto> consumer);
 
-    List<BookingDto> getAllByOwner(Long userId, String state);
+    void exportByOwner(Long userId, Consumer<BookingDto> consumer);
 }
\ No newline at end of file
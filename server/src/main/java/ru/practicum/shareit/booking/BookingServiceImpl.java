@@ -1,57 +1,89 @@
 package ru.practicum.shareit.booking;
 
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingBatchRequestDto;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.event.BookingEventType;
+import ru.practicum.shareit.event.BookingOutbox;
+import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.ItemRepository;
-import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.ItemSummaryService;
+import ru.practicum.shareit.item.dto.ItemSummary;
+import ru.practicum.shareit.metrics.ShareItMetrics;
+import ru.practicum.shareit.user.CurrentUser;
 import ru.practicum.shareit.user.User;
-import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.util.OffsetPageRequest;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
+@Timed(ShareItMetrics.SERVICE_TIMER)
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class BookingServiceImpl implements BookingService {
+    private static final Sort SORT_BY_START_DESC = Sort.by(Sort.Direction.DESC, "start", "id");
+    private static final int EXPORT_CLEAR_INTERVAL = Integer.parseInt(BookingRepository.EXPORT_FETCH_SIZE);
+
     private final BookingRepository bookingRepository;
-    private final UserRepository userRepository;
     private final ItemRepository itemRepository;
+    private final ItemSummaryService itemSummaryService;
+    private final CurrentUser currentUser;
+    private final ItemBookingTimeline itemBookingTimeline;
+    private final ApprovedBookingIndex approvedBookingIndex;
+    private final EntityManager entityManager;
+    private final ShareItMetrics metrics;
+    private final BookingOutbox bookingOutbox;
 
     @Override
     @Transactional
     public BookingDto create(Long userId, BookingDto bookingDto) {
-        User booker = getUser(userId);
-        Item item = itemRepository.findById(bookingDto.getItemId())
-                .orElseThrow(() -> new NotFoundException("Вещь с id=" + bookingDto.getItemId() + " не найдена"));
+        User booker = currentUser.getReference(userId);
+        ItemSummary item = itemSummaryService.getSummary(bookingDto.getItemId());
 
         if (!item.getAvailable()) {
             throw new ValidationException("Вещь с id=" + item.getId() + " недоступна");
         }
-        if (item.getOwner().getId().equals(userId)) {
+        if (item.getOwnerId().equals(userId)) {
             throw new NotFoundException("Владелец не может забронировать свою вещь");
         }
         validateDates(bookingDto);
 
         Booking booking = BookingMapper.toBooking(bookingDto);
-        booking.setItem(item);
+        booking.setItem(itemRepository.getReferenceById(item.getId()));
         booking.setBooker(booker);
         booking.setStatus(BookingStatus.WAITING);
 
-        return BookingMapper.toBookingDto(bookingRepository.save(booking));
+        Booking saved = bookingRepository.save(booking);
+        itemBookingTimeline.add(saved);
+        bookingOutbox.record(saved, BookingEventType.CREATED);
+        return BookingMapper.toBookingDto(saved);
     }
 
     @Override
     @Transactional
     public BookingDto approve(Long userId, Long bookingId, Boolean approved) {
+        BookingStatus status = approved ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+
         Booking booking = getBooking(bookingId);
 
         if (!booking.getItem().getOwner().getId().equals(userId)) {
@@ -61,8 +93,84 @@ public class BookingServiceImpl implements BookingService {
             throw new ValidationException("Статус уже изменен");
         }
 
-        booking.setStatus(approved ? BookingStatus.APPROVED : BookingStatus.REJECTED);
-        return BookingMapper.toBookingDto(bookingRepository.save(booking));
+        // версия меняется только вместе с уходом из WAITING, поэтому неудачное обновление значит,
+        // что параллельный запрос уже изменил статус: повторная попытка закончилась бы тем же
+        if (bookingRepository.updateWaitingStatus(bookingId, booking.getVersion(), status) == 0) {
+            throw new ConflictException("Статус бронирования id=" + bookingId + " изменен параллельным запросом");
+        }
+        booking.setStatus(status);
+        booking.setVersion(booking.getVersion() + 1);
+        // слот занимает только победитель гонки: откат проигравшего не должен освобождать чужой интервал
+        if (approved) {
+            approvedBookingIndex.reserve(booking);
+        } else {
+            itemBookingTimeline.remove(booking);
+        }
+        bookingOutbox.record(booking, BookingEventType.of(approved));
+        return BookingMapper.toBookingDto(booking);
+    }
+
+    @Override
+    @Transactional
+    public List<BookingBatchResultDto> approveAll(Long userId, BookingBatchRequestDto request) {
+        currentUser.get(userId);
+        boolean approved = request.getApproved();
+        BookingStatus status = approved ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+        Map<Long, Booking> bookings = bookingRepository.findAllByIdIn(request.getBookingIds()).stream()
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
+
+        Map<Long, BookingBatchResultDto> results = new LinkedHashMap<>();
+        List<Booking> applicable = new ArrayList<>();
+        for (Long bookingId : request.getBookingIds()) {
+            if (results.containsKey(bookingId)) {
+                continue;
+            }
+            Booking booking = bookings.get(bookingId);
+            if (booking == null) {
+                results.put(bookingId, failed(bookingId, "Бронирование с id=" + bookingId + " не найдено"));
+            } else if (!booking.getItem().getOwner().getId().equals(userId)) {
+                results.put(bookingId, failed(bookingId, "Подтвердить бронирование может только владелец вещи"));
+            } else if (booking.getStatus() != BookingStatus.WAITING) {
+                results.put(bookingId, failed(bookingId, "Статус уже изменен"));
+            } else {
+                try {
+                    // при пакетной обработке слот занимается до обновления, чтобы пересечения внутри пакета отсеялись
+                    if (approved) {
+                        approvedBookingIndex.reserve(booking);
+                    }
+                    applicable.add(booking);
+                    results.put(bookingId, null);
+                } catch (ConflictException e) {
+                    results.put(bookingId, failed(bookingId, e.getMessage()));
+                }
+            }
+        }
+
+        int[] updated = bookingRepository.updateWaitingStatuses(applicable, status);
+        List<Booking> succeeded = new ArrayList<>();
+        for (int i = 0; i < applicable.size(); i++) {
+            Booking booking = applicable.get(i);
+            if (updated[i] == 1) {
+                succeeded.add(booking);
+                if (!approved) {
+                    itemBookingTimeline.remove(booking);
+                }
+                results.put(booking.getId(), BookingBatchResultDto.builder()
+                        .bookingId(booking.getId())
+                        .success(true)
+                        .status(status)
+                        .build());
+            } else {
+                if (approved) {
+                    approvedBookingIndex.release(booking);
+                }
+                results.put(booking.getId(), failed(booking.getId(),
+                        "Статус бронирования id=" + booking.getId() + " изменен параллельным запросом"));
+            }
+        }
+        bookingOutbox.recordAll(succeeded, BookingEventType.of(approved));
+        log.info("Пакетное изменение статуса на {}: {} из {} бронирований", status, succeeded.size(), results.size());
+        return new ArrayList<>(results.values());
     }
 
     @Override
@@ -76,72 +184,64 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
-    public List<BookingDto> getAllByBooker(Long userId, String state) {
-        getUser(userId);
-        LocalDateTime now = LocalDateTime.now();
-        Sort sort = Sort.by(Sort.Direction.DESC, "start");
-
-        List<Booking> bookings;
-        switch (state.toUpperCase()) {
-            case "ALL":
-                bookings = bookingRepository.findAllByBookerId(userId, sort);
-                break;
-            case "CURRENT":
-                bookings = bookingRepository.findAllByBookerIdAndStartBeforeAndEndAfter(userId, now, now, sort);
-                break;
-            case "PAST":
-                bookings = bookingRepository.findAllByBookerIdAndEndBefore(userId, now, sort);
-                break;
-            case "FUTURE":
-                bookings = bookingRepository.findAllByBookerIdAndStartAfter(userId, now, sort);
-                break;
-            case "WAITING":
-                bookings = bookingRepository.findAllByBookerIdAndStatus(userId, BookingStatus.WAITING, sort);
-                break;
-            case "REJECTED":
-                bookings = bookingRepository.findAllByBookerIdAndStatus(userId, BookingStatus.REJECTED, sort);
-                break;
-            default:
-                throw new ValidationException("Unknown state: " + state);
+    public List<BookingDto> getAllByBooker(Long userId, String state, Integer from, Integer size) {
+        currentUser.get(userId);
+        BookingState bookingState = parseState(state, "Unknown state: " + state);
+        Slice<BookingWithState> bookings = bookingRepository.findAllByBookerIdAndState(userId, bookingState.name(),
+                LocalDateTime.now(), OffsetPageRequest.of(from, size, SORT_BY_START_DESC));
+        metrics.bookingQuery("booker", bookingState.name());
+        return metrics.rows("bookings.booker", bookings.stream().map(BookingMapper::toBookingDto).collect(Collectors.toList()));
+    }
+
+    @Override
+    public List<BookingDto> getAllByOwner(Long userId, String state, Integer from, Integer size) {
+        currentUser.get(userId);
+        BookingState bookingState = parseState(state, "Unknown state: UNSUPPORTED_STATUS");
+        Slice<BookingWithState> bookings = bookingRepository.findAllByItemOwnerIdAndState(userId, bookingState.name(),
+                LocalDateTime.now(), OffsetPageRequest.of(from, size, SORT_BY_START_DESC));
+        metrics.bookingQuery("owner", bookingState.name());
+        return metrics.rows("bookings.owner", bookings.stream().map(BookingMapper::toBookingDto).collect(Collectors.toList()));
+    }
+
+    @Override
+    public Map<BookingState, Long> countByBooker(Long userId) {
+        currentUser.get(userId);
+        return bookingRepository.countByBookerId(userId, LocalDateTime.now()).toMap();
+    }
+
+    @Override
+    public Map<BookingState, Long> countByOwner(Long userId) {
+        currentUser.get(userId);
+        return bookingRepository.countByItemOwnerId(userId, LocalDateTime.now()).toMap();
+    }
+
+    @Override
+    public void exportByBooker(Long userId, Consumer<BookingDto> consumer) {
+        currentUser.get(userId);
+        try (Stream<Booking> bookings = bookingRepository.streamAllByBookerIdOrderByStartDescIdDesc(userId)) {
+            export(bookings, consumer);
         }
-        return bookings.stream().map(BookingMapper::toBookingDto).collect(Collectors.toList());
     }
 
     @Override
-    public List<BookingDto> getAllByOwner(Long userId, String state) {
-        getUser(userId);
-        LocalDateTime now = LocalDateTime.now();
-        Sort sort = Sort.by(Sort.Direction.DESC, "start");
-
-        List<Booking> bookings;
-        switch (state.toUpperCase()) {
-            case "ALL":
-                bookings = bookingRepository.findAllByItemOwnerId(userId, sort);
-                break;
-            case "CURRENT":
-                bookings = bookingRepository.findAllByItemOwnerIdAndStartBeforeAndEndAfter(userId, now, now, sort);
-                break;
-            case "PAST":
-                bookings = bookingRepository.findAllByItemOwnerIdAndEndBefore(userId, now, sort);
-                break;
-            case "FUTURE":
-                bookings = bookingRepository.findAllByItemOwnerIdAndStartAfter(userId, now, sort);
-                break;
-            case "WAITING":
-                bookings = bookingRepository.findAllByItemOwnerIdAndStatus(userId, BookingStatus.WAITING, sort);
-                break;
-            case "REJECTED":
-                bookings = bookingRepository.findAllByItemOwnerIdAndStatus(userId, BookingStatus.REJECTED, sort);
-                break;
-            default:
-                throw new ValidationException("Unknown state: UNSUPPORTED_STATUS");
+    public void exportByOwner(Long userId, Consumer<BookingDto> consumer) {
+        currentUser.get(userId);
+        try (Stream<Booking> bookings = bookingRepository.streamAllByItemOwnerIdOrderByStartDescIdDesc(userId)) {
+            export(bookings, consumer);
         }
-        return bookings.stream().map(BookingMapper::toBookingDto).collect(Collectors.toList());
     }
 
-    private User getUser(Long userId) {
-        return userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("Пользователь с id=" + userId + " не найден"));
+    private void export(Stream<Booking> bookings, Consumer<BookingDto> consumer) {
+        int count = 0;
+        Iterator<Booking> iterator = bookings.iterator();
+        while (iterator.hasNext()) {
+            consumer.accept(BookingMapper.toBookingDto(iterator.next()));
+            // уже выгруженные сущности не держим в контексте, иначе память растёт вместе с историей
+            if (++count % EXPORT_CLEAR_INTERVAL == 0) {
+                entityManager.clear();
+            }
+        }
+        log.info("Выгружено бронирований: {}", count);
     }
 
     private Booking getBooking(Long bookingId) {
@@ -149,6 +249,22 @@ public class BookingServiceImpl implements BookingService {
                 .orElseThrow(() -> new NotFoundException("Бронирование с id=" + bookingId + " не найдено"));
     }
 
+    private static BookingState parseState(String state, String error) {
+        try {
+            return BookingState.valueOf(state.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException(error);
+        }
+    }
+
+    private static BookingBatchResultDto failed(Long bookingId, String error) {
+        return BookingBatchResultDto.builder()
+                .bookingId(bookingId)
+                .success(false)
+                .error(error)
+                .build();
+    }
+
     private void validateDates(BookingDto dto) {
         LocalDateTime now = LocalDateTime.now();
         if (dto.getStart().isBefore(now)) {
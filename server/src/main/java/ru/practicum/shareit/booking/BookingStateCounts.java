@@ -0,0 +1,30 @@
+package ru.practicum.shareit.booking;
+
+import lombok.Value;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Число бронирований в каждом состоянии, посчитанное одним агрегирующим запросом.
+ */
+@Value
+public class BookingStateCounts {
+    long all;
+    long current;
+    long past;
+    long future;
+    long waiting;
+    long rejected;
+
+    public Map<BookingState, Long> toMap() {
+        Map<BookingState, Long> counts = new EnumMap<>(BookingState.class);
+        counts.put(BookingState.ALL, all);
+        counts.put(BookingState.CURRENT, current);
+        counts.put(BookingState.PAST, past);
+        counts.put(BookingState.FUTURE, future);
+        counts.put(BookingState.WAITING, waiting);
+        counts.put(BookingState.REJECTED, rejected);
+        return counts;
+    }
+}
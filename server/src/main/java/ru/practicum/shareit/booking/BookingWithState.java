@@ -0,0 +1,17 @@
+package ru.practicum.shareit.booking;
+
+import lombok.Value;
+
+/**
+ * Бронирование вместе с состоянием по времени (CURRENT, PAST или FUTURE), вычисленным в запросе.
+ */
+@Value
+public class BookingWithState {
+    Booking booking;
+    BookingState state;
+
+    public BookingWithState(Booking booking, String state) {
+        this.booking = booking;
+        this.state = state == null ? null : BookingState.valueOf(state);
+    }
+}
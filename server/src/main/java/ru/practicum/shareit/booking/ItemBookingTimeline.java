@@ -0,0 +1,114 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.util.TransactionUtils;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Неотклонённые бронирования каждой вещи, упорядоченные по дате начала.
+ * Последнее и следующее бронирование находятся за O(log n) без загрузки истории из базы.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemBookingTimeline {
+    private static final int LOAD_BATCH_SIZE = 1000;
+    private static final Comparator<Entry> ORDER = Comparator.comparing(Entry::getStart)
+            .thenComparing(Entry::getId);
+
+    private final BookingRepository bookingRepository;
+
+    private final Map<Long, NavigableSet<Entry>> timelines = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void rebuild() {
+        timelines.clear();
+        long lastId = 0;
+        int count = 0;
+        List<Booking> batch;
+        do {
+            batch = bookingRepository.findTop1000ByStatusNotAndIdGreaterThanOrderByIdAsc(BookingStatus.REJECTED, lastId);
+            for (Booking booking : batch) {
+                put(booking.getItem().getId(), toEntry(booking));
+                lastId = booking.getId();
+            }
+            count += batch.size();
+        } while (batch.size() == LOAD_BATCH_SIZE);
+        log.info("Хронология бронирований построена: {} бронирований, {} вещей", count, timelines.size());
+    }
+
+    public void add(Booking booking) {
+        Long itemId = booking.getItem().getId();
+        Entry entry = toEntry(booking);
+        TransactionUtils.afterCommit(() -> put(itemId, entry));
+    }
+
+    public void remove(Booking booking) {
+        Long itemId = booking.getItem().getId();
+        Entry entry = toEntry(booking);
+        TransactionUtils.afterCommit(() -> {
+            NavigableSet<Entry> timeline = timelines.get(itemId);
+            if (timeline != null) {
+                timeline.remove(entry);
+            }
+        });
+    }
+
+    public void removeBooker(Long bookerId) {
+        TransactionUtils.afterCommit(() -> timelines.values()
+                .forEach(timeline -> timeline.removeIf(entry -> entry.getBookerId().equals(bookerId))));
+    }
+
+    /**
+     * Убирает хронологии вещей, удалённых каскадом вместе с владельцем. Вызывается после фиксации.
+     */
+    public void removeItems(Collection<Long> itemIds) {
+        itemIds.forEach(timelines::remove);
+    }
+
+    public ItemDto.BookingShortDto getLast(Long itemId, LocalDateTime now) {
+        NavigableSet<Entry> timeline = timelines.get(itemId);
+        return timeline == null ? null : toShortDto(timeline.floor(probe(now)));
+    }
+
+    public ItemDto.BookingShortDto getNext(Long itemId, LocalDateTime now) {
+        NavigableSet<Entry> timeline = timelines.get(itemId);
+        return timeline == null ? null : toShortDto(timeline.higher(probe(now)));
+    }
+
+    private void put(Long itemId, Entry entry) {
+        timelines.computeIfAbsent(itemId, id -> new ConcurrentSkipListSet<>(ORDER)).add(entry);
+    }
+
+    private static Entry probe(LocalDateTime now) {
+        return new Entry(now, Long.MAX_VALUE, null);
+    }
+
+    private static Entry toEntry(Booking booking) {
+        return new Entry(booking.getStart(), booking.getId(), booking.getBooker().getId());
+    }
+
+    private static ItemDto.BookingShortDto toShortDto(Entry entry) {
+        return entry == null ? null : new ItemDto.BookingShortDto(entry.getId(), entry.getBookerId());
+    }
+
+    @Value
+    private static class Entry {
+        LocalDateTime start;
+        Long id;
+        Long bookerId;
+    }
+}
@@ -7,6 +7,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import ru.practicum.shareit.booking.BookingState;
 import ru.practicum.shareit.booking.BookingStatus;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.user.dto.UserDto;
@@ -36,4 +37,7 @@ public class BookingDto {
     private UserDto booker;
 
     private BookingStatus status;
+
+    // состояние по времени на момент запроса; заполняется только в списках бронирований
+    private BookingState state;
 }
\ No newline at end of file
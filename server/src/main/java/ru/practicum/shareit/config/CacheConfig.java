@@ -0,0 +1,13 @@
+package ru.practicum.shareit.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+// кэширование оборачивает транзакцию: сброс записей происходит уже после фиксации изменений
+@Configuration
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
+public class CacheConfig {
+    public static final String USERS = "users";
+    public static final String ITEMS = "items";
+}
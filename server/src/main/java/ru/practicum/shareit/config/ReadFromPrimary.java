@@ -0,0 +1,15 @@
+package ru.practicum.shareit.config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Метод читает с основной базы, даже если транзакция readOnly. Нужен там, где прочитанное кэшируется:
+ * значение из отстающей реплики осталось бы в кэше после сброса записи.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ReadFromPrimary {
+}
@@ -0,0 +1,74 @@
+package ru.practicum.shareit.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+// задан адрес реплики (shareit.datasource.replica.url): чтение в транзакциях readOnly уходит на неё
+@Configuration
+@ConditionalOnProperty(name = "shareit.datasource.replica.url")
+public class ReplicaRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("shareit.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties, Environment environment) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(environment.getRequiredProperty("shareit.datasource.replica.url"))
+                .username(environment.getProperty("shareit.datasource.replica.username",
+                        properties.determineUsername()))
+                .password(environment.getProperty("shareit.datasource.replica.password",
+                        properties.determinePassword()))
+                .build();
+        dataSource.setPoolName("replica");
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica,
+                                 Environment environment) {
+        Duration stickyWindow = environment.getRequiredProperty("shareit.datasource.replica.sticky-window",
+                Duration.class);
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, replica, stickyWindow);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    @Bean
+    public ReadFromPrimaryAspect readFromPrimaryAspect() {
+        return new ReadFromPrimaryAspect();
+    }
+
+    @Aspect
+    static class ReadFromPrimaryAspect {
+
+        @Around("@annotation(ru.practicum.shareit.config.ReadFromPrimary)")
+        public Object readFromPrimary(ProceedingJoinPoint joinPoint) throws Throwable {
+            return ReplicaRoutingDataSource.onPrimary(joinPoint::proceed);
+        }
+    }
+}
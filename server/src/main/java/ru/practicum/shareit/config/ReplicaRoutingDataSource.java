@@ -0,0 +1,104 @@
+package ru.practicum.shareit.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import ru.practicum.shareit.util.TransactionUtils;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Направляет транзакции readOnly на реплику, остальные обращения — на основную базу.
+ * Пользователь, чья запись зафиксирована не раньше чем stickyWindow назад, читает с основной базы,
+ * чтобы не получить из отстающей реплики состояние до своего же изменения.
+ * Решение принимается при получении соединения, поэтому источник нужно оборачивать
+ * в LazyConnectionDataSourceProxy: тогда признак readOnly транзакции к этому моменту уже известен.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    public static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    private static final int MAX_RECENT_WRITERS = 100_000;
+    private static final ThreadLocal<Boolean> PRIMARY_ONLY = new ThreadLocal<>();
+
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, Duration stickyWindow) {
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(stickyWindow)
+                .maximumSize(MAX_RECENT_WRITERS)
+                .build();
+    }
+
+    /**
+     * Выполняет действие так, что соединения, полученные внутри него, берутся из основной базы.
+     */
+    public static <T> T onPrimary(Action<T> action) throws Throwable {
+        Boolean previous = PRIMARY_ONLY.get();
+        PRIMARY_ONLY.set(Boolean.TRUE);
+        try {
+            return action.run();
+        } finally {
+            if (previous == null) {
+                PRIMARY_ONLY.remove();
+            } else {
+                PRIMARY_ONLY.set(previous);
+            }
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return Target.PRIMARY;
+        }
+        String userId = currentUserId();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (userId != null) {
+                TransactionUtils.afterCommit(() -> recentWriters.put(userId, Boolean.TRUE));
+            }
+            return Target.PRIMARY;
+        }
+        if (PRIMARY_ONLY.get() != null || userId != null && recentWriters.getIfPresent(userId) != null) {
+            return Target.PRIMARY;
+        }
+        skipSecondLevelCachePuts();
+        return Target.REPLICA;
+    }
+
+    // прочитанное с отстающей реплики не кладётся в кэш второго уровня, откуда его прочли бы и после записи
+    private static void skipSecondLevelCachePuts() {
+        for (Object resource : TransactionSynchronizationManager.getResourceMap().values()) {
+            if (resource instanceof EntityManagerHolder holder) {
+                holder.getEntityManager().unwrap(Session.class).setCacheMode(CacheMode.GET);
+            }
+        }
+    }
+
+    private static String currentUserId() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            return servletAttributes.getRequest().getHeader(USER_ID_HEADER);
+        }
+        return null;
+    }
+
+    @FunctionalInterface
+    public interface Action<T> {
+        T run() throws Throwable;
+    }
+
+    public enum Target {
+        PRIMARY,
+        REPLICA
+    }
+}
@@ -0,0 +1,36 @@
+package ru.practicum.shareit.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+// запросы и транзакции выполняются на виртуальных потоках (spring.threads.virtual.enabled),
+// поэтому число одновременных обращений к базе ограничивается отдельно от числа потоков
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadsConfig {
+
+    @Bean
+    public static BeanPostProcessor boundedDataSourcePostProcessor(Environment environment) {
+        int maxConcurrentConnections = environment.getRequiredProperty(
+                "shareit.jdbc.max-concurrent-connections", Integer.class);
+        Duration acquireTimeout = environment.getRequiredProperty("shareit.jdbc.acquire-timeout", Duration.class);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                // ограничиваются сами пулы, а не обёртки над ними вроде маршрутизации на реплику
+                if (bean instanceof DataSource dataSource && !(bean instanceof DelegatingDataSource)) {
+                    return new BoundedDataSource(dataSource, maxConcurrentConnections, acquireTimeout);
+                }
+                return bean;
+            }
+        };
+    }
+}
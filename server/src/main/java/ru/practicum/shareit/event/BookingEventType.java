@@ -0,0 +1,20 @@
+package ru.practicum.shareit.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import ru.practicum.shareit.booking.BookingStatus;
+
+@Getter
+@RequiredArgsConstructor
+public enum BookingEventType {
+    CREATED(BookingStatus.WAITING),
+    APPROVED(BookingStatus.APPROVED),
+    REJECTED(BookingStatus.REJECTED);
+
+    // статус бронирования после события: пакетное обновление не меняет загруженные сущности
+    private final BookingStatus status;
+
+    public static BookingEventType of(Boolean approved) {
+        return approved ? APPROVED : REJECTED;
+    }
+}
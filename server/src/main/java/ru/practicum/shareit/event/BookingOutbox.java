@@ -0,0 +1,73 @@
+package ru.practicum.shareit.event;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.event.dto.BookingEventDto;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Таблица outbox событий бронирований. События пишутся в транзакции, меняющей бронирование,
+ * и попадают в журнал событий только если она зафиксирована; переносит их {@link EventLogPublisher}.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookingOutbox {
+    private static final String INSERT = "INSERT INTO booking_events "
+            + "(event_id, type, booking_id, item_id, booker_id, status, start_date, end_date, created) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String SELECT_OLDEST = "SELECT event_id, type, booking_id, item_id, booker_id, status, "
+            + "start_date, end_date, created FROM booking_events ORDER BY id LIMIT ?";
+    private static final String DELETE = "DELETE FROM booking_events WHERE event_id IN (:eventIds)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public void record(Booking booking, BookingEventType type) {
+        recordAll(List.of(booking), type);
+    }
+
+    public void recordAll(List<Booking> bookings, BookingEventType type) {
+        if (bookings.isEmpty()) {
+            return;
+        }
+        Timestamp created = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT, bookings, bookings.size(), (ps, booking) -> {
+            ps.setObject(1, UUID.randomUUID());
+            ps.setString(2, type.name());
+            ps.setLong(3, booking.getId());
+            ps.setLong(4, booking.getItem().getId());
+            ps.setLong(5, booking.getBooker().getId());
+            ps.setString(6, type.getStatus().name());
+            ps.setTimestamp(7, Timestamp.valueOf(booking.getStart()));
+            ps.setTimestamp(8, Timestamp.valueOf(booking.getEnd()));
+            ps.setTimestamp(9, created);
+        });
+    }
+
+    public List<BookingEventDto> findOldest(int limit) {
+        return jdbcTemplate.query(SELECT_OLDEST, (rs, rowNum) -> BookingEventDto.builder()
+                .eventId(rs.getObject("event_id", UUID.class))
+                .type(BookingEventType.valueOf(rs.getString("type")))
+                .bookingId(rs.getLong("booking_id"))
+                .itemId(rs.getLong("item_id"))
+                .bookerId(rs.getLong("booker_id"))
+                .status(BookingStatus.valueOf(rs.getString("status")))
+                .start(rs.getTimestamp("start_date").toLocalDateTime())
+                .end(rs.getTimestamp("end_date").toLocalDateTime())
+                .created(rs.getTimestamp("created").toLocalDateTime())
+                .build(), limit);
+    }
+
+    public void delete(List<UUID> eventIds) {
+        namedJdbcTemplate.update(DELETE, Map.of("eventIds", eventIds));
+    }
+}
@@ -0,0 +1,52 @@
+package ru.practicum.shareit.event;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.shareit.event.dto.EventOffsetsDto;
+import ru.practicum.shareit.event.dto.EventPageDto;
+import ru.practicum.shareit.event.dto.EventRecordDto;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+// чтение журнала событий для внутренних потребителей; через gateway не публикуется
+@Slf4j
+@RestController
+@RequestMapping(path = "/events")
+@RequiredArgsConstructor
+public class EventController {
+    private static final int MAX_LIMIT = 1000;
+
+    private final EventLog eventLog;
+
+    @GetMapping
+    public EventPageDto read(@RequestParam(defaultValue = "0") Long offset,
+                             @RequestParam(defaultValue = "100") Integer limit) {
+        log.info("Запрос событий начиная со смещения {}, не больше {}", offset, limit);
+        if (limit <= 0 || limit > MAX_LIMIT) {
+            throw new ValidationException("Количество событий должно быть от 1 до " + MAX_LIMIT);
+        }
+        List<EventLog.Record> records;
+        try {
+            records = eventLog.read(offset, limit);
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException(e.getMessage());
+        }
+        List<EventRecordDto> events = records.stream()
+                .map(record -> new EventRecordDto(record.getOffset(),
+                        new String(record.getPayload(), StandardCharsets.UTF_8)))
+                .toList();
+        long nextOffset = records.isEmpty() ? offset : records.getLast().getOffset() + 1;
+        return new EventPageDto(events, nextOffset);
+    }
+
+    @GetMapping("/offsets")
+    public EventOffsetsDto getOffsets() {
+        return new EventOffsetsDto(eventLog.getStartOffset(), eventLog.getEndOffset());
+    }
+}
@@ -0,0 +1,258 @@
+package ru.practicum.shareit.event;
+
+import lombok.Value;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Журнал только для дозаписи из сегментов фиксированного размера, отображённых в память.
+ * Запись: длина данных (int), CRC32 данных (int), данные. Смещение записи — её порядковый номер в журнале,
+ * файл сегмента назван смещением его первой записи. Файл сегмента создаётся заполненным нулями,
+ * поэтому нулевая длина отмечает конец записанной части; запись, оборванную сбоем, выдаёт несовпадение CRC.
+ * Дописывает журнал один поток, читать можно параллельно.
+ */
+public class EventLog implements Closeable {
+    private static final int HEADER_SIZE = 8;
+    private static final int INDEX_INTERVAL = 64;
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String LOCK_FILE = ".lock";
+
+    private final Path dir;
+    private final int segmentSize;
+    private final FileChannel lockChannel;
+    private final FileLock lock;
+    private final ConcurrentNavigableMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+    private volatile Segment active;
+
+    public EventLog(Path dir, int segmentSize) throws IOException {
+        if (segmentSize <= HEADER_SIZE) {
+            throw new IllegalArgumentException("Размер сегмента должен быть больше " + HEADER_SIZE + " байт");
+        }
+        this.dir = Files.createDirectories(dir);
+        this.segmentSize = segmentSize;
+        this.lockChannel = FileChannel.open(dir.resolve(LOCK_FILE), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        this.lock = tryLock(lockChannel, dir);
+
+        List<Long> baseOffsets;
+        try (Stream<Path> files = Files.list(dir)) {
+            baseOffsets = files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.matches("\\d{20}\\" + SEGMENT_SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(0, 20)))
+                    .sorted()
+                    .toList();
+        }
+        for (Long baseOffset : baseOffsets) {
+            Segment segment = Segment.open(segmentFile(baseOffset), baseOffset, segmentSize);
+            segments.put(baseOffset, segment);
+        }
+        active = segments.isEmpty() ? createSegment(0) : segments.lastEntry().getValue();
+    }
+
+    /**
+     * Дописывает записи и возвращает смещение первой из них. На диск записи попадают после {@link #flush()}.
+     */
+    public synchronized long append(List<byte[]> payloads) throws IOException {
+        long firstOffset = getEndOffset();
+        for (byte[] payload : payloads) {
+            if (HEADER_SIZE + payload.length > segmentSize) {
+                throw new IllegalArgumentException("Запись размером " + payload.length
+                        + " байт не помещается в сегмент размером " + segmentSize + " байт");
+            }
+            if (!active.fits(payload.length)) {
+                active.force();
+                active = createSegment(active.getEndOffset());
+            }
+            active.append(payload);
+        }
+        return firstOffset;
+    }
+
+    public synchronized void flush() {
+        active.force();
+    }
+
+    public long getStartOffset() {
+        return segments.firstKey();
+    }
+
+    public long getEndOffset() {
+        return active.getEndOffset();
+    }
+
+    /**
+     * Возвращает не больше maxRecords записей начиная со смещения offset, возможно из нескольких сегментов.
+     */
+    public List<Record> read(long offset, int maxRecords) {
+        if (offset < getStartOffset() || offset > getEndOffset()) {
+            throw new IllegalArgumentException("Смещение " + offset + " вне журнала ["
+                    + getStartOffset() + ", " + getEndOffset() + "]");
+        }
+        List<Record> records = new ArrayList<>();
+        Map.Entry<Long, Segment> entry = segments.floorEntry(offset);
+        long next = offset;
+        while (entry != null && records.size() < maxRecords) {
+            entry.getValue().read(next, maxRecords, records);
+            next = entry.getValue().getEndOffset();
+            entry = segments.higherEntry(entry.getKey());
+        }
+        return records;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        active.force();
+        lock.release();
+        lockChannel.close();
+    }
+
+    private Segment createSegment(long baseOffset) throws IOException {
+        Segment segment = Segment.open(segmentFile(baseOffset), baseOffset, segmentSize);
+        segments.put(baseOffset, segment);
+        return segment;
+    }
+
+    private Path segmentFile(long baseOffset) {
+        return dir.resolve(String.format("%020d%s", baseOffset, SEGMENT_SUFFIX));
+    }
+
+    private static FileLock tryLock(FileChannel channel, Path dir) throws IOException {
+        FileLock lock;
+        try {
+            lock = channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            lock = null;
+        }
+        if (lock == null) {
+            channel.close();
+            throw new IllegalStateException("Журнал событий " + dir + " уже открыт другим процессом");
+        }
+        return lock;
+    }
+
+    @Value
+    public static class Record {
+        long offset;
+        byte[] payload;
+    }
+
+    private static final class Segment {
+        private final long baseOffset;
+        private final MappedByteBuffer buffer;
+        // позиция каждой INDEX_INTERVAL-й записи: чтение с произвольного смещения не просматривает весь сегмент
+        private int[] index = new int[16];
+        private int size;
+        private volatile int count;
+
+        private Segment(long baseOffset, MappedByteBuffer buffer) {
+            this.baseOffset = baseOffset;
+            this.buffer = buffer;
+        }
+
+        static Segment open(Path file, long baseOffset, int segmentSize) throws IOException {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE)) {
+                long capacity = Math.max(channel.size(), segmentSize);
+                Segment segment = new Segment(baseOffset, channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity));
+                segment.recover();
+                return segment;
+            }
+        }
+
+        long getEndOffset() {
+            return baseOffset + count;
+        }
+
+        boolean fits(int length) {
+            return size + HEADER_SIZE + length <= buffer.capacity();
+        }
+
+        void append(byte[] payload) {
+            int position = size;
+            addToIndex(count, position);
+            buffer.putInt(position + 4, checksum(payload));
+            buffer.put(position + HEADER_SIZE, payload);
+            // длина пишется последней: до неё запись для восстановления выглядит как конец сегмента
+            buffer.putInt(position, payload.length);
+            size = position + HEADER_SIZE + payload.length;
+            count++;
+        }
+
+        void read(long offset, int maxRecords, List<Record> out) {
+            int available = count;
+            int target = (int) (offset - baseOffset);
+            int number = target - target % INDEX_INTERVAL;
+            if (target >= available) {
+                return;
+            }
+            int position = index[number / INDEX_INTERVAL];
+            for (; number < available && out.size() < maxRecords; number++) {
+                int length = buffer.getInt(position);
+                if (number >= target) {
+                    byte[] payload = new byte[length];
+                    buffer.get(position + HEADER_SIZE, payload);
+                    out.add(new Record(baseOffset + number, payload));
+                }
+                position += HEADER_SIZE + length;
+            }
+        }
+
+        void force() {
+            buffer.force();
+        }
+
+        private void recover() {
+            int position = 0;
+            int number = 0;
+            while (position + HEADER_SIZE <= buffer.capacity()) {
+                int length = buffer.getInt(position);
+                if (length <= 0 || position + HEADER_SIZE + length > buffer.capacity()) {
+                    break;
+                }
+                byte[] payload = new byte[length];
+                buffer.get(position + HEADER_SIZE, payload);
+                if (buffer.getInt(position + 4) != checksum(payload)) {
+                    break;
+                }
+                addToIndex(number, position);
+                position += HEADER_SIZE + length;
+                number++;
+            }
+            // оборванная запись, если она есть, будет перезаписана следующей
+            size = position;
+            count = number;
+        }
+
+        private void addToIndex(int number, int position) {
+            if (number % INDEX_INTERVAL != 0) {
+                return;
+            }
+            int slot = number / INDEX_INTERVAL;
+            if (slot == index.length) {
+                index = Arrays.copyOf(index, index.length * 2);
+            }
+            index[slot] = position;
+        }
+
+        private static int checksum(byte[] payload) {
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            return (int) crc.getValue();
+        }
+    }
+}
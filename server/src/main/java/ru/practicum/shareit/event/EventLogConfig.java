@@ -0,0 +1,21 @@
+package ru.practicum.shareit.event;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+@Configuration
+@EnableScheduling
+public class EventLogConfig {
+
+    @Bean(destroyMethod = "close")
+    public EventLog eventLog(@Value("${shareit.events.dir}") Path dir,
+                             @Value("${shareit.events.segment-size}") DataSize segmentSize) throws IOException {
+        return new EventLog(dir, Math.toIntExact(segmentSize.toBytes()));
+    }
+}
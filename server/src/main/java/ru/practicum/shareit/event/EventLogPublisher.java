@@ -0,0 +1,77 @@
+package ru.practicum.shareit.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.event.dto.BookingEventDto;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Переносит события из outbox в журнал пачками в фоне, вне транзакций бронирований.
+ * Журнал дописывается и сбрасывается на диск до удаления событий из outbox: при сбое между этими шагами
+ * события будут доставлены повторно, но не потеряются. Повторы потребитель отбрасывает по eventId.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EventLogPublisher {
+    private final BookingOutbox outbox;
+    private final EventLog eventLog;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${shareit.events.batch-size}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${shareit.events.publish-interval-ms}",
+            initialDelayString = "${shareit.events.publish-interval-ms}")
+    public void publishPending() {
+        int published;
+        do {
+            published = publishBatch();
+        } while (published == batchSize);
+    }
+
+    synchronized int publishBatch() {
+        Integer published = transactionTemplate.execute(status -> {
+            List<BookingEventDto> events = outbox.findOldest(batchSize);
+            if (events.isEmpty()) {
+                return 0;
+            }
+            List<byte[]> payloads = new ArrayList<>(events.size());
+            List<UUID> eventIds = new ArrayList<>(events.size());
+            for (BookingEventDto event : events) {
+                payloads.add(serialize(event));
+                eventIds.add(event.getEventId());
+            }
+            try {
+                long firstOffset = eventLog.append(payloads);
+                eventLog.flush();
+                log.debug("В журнал событий записано {} событий начиная со смещения {}", events.size(), firstOffset);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            outbox.delete(eventIds);
+            return events.size();
+        });
+        return published == null ? 0 : published;
+    }
+
+    private byte[] serialize(BookingEventDto event) {
+        try {
+            return objectMapper.writeValueAsBytes(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Не удалось сериализовать событие id=" + event.getEventId(), e);
+        }
+    }
+}
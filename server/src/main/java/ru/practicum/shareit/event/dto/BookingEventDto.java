@@ -0,0 +1,28 @@
+package ru.practicum.shareit.event.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.event.BookingEventType;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookingEventDto {
+    // присваивается при записи в outbox: при повторной доставке после сбоя по нему отбрасываются дубликаты
+    private UUID eventId;
+    private BookingEventType type;
+    private Long bookingId;
+    private Long itemId;
+    private Long bookerId;
+    private BookingStatus status;
+    private LocalDateTime start;
+    private LocalDateTime end;
+    private LocalDateTime created;
+}
@@ -0,0 +1,13 @@
+package ru.practicum.shareit.event.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EventOffsetsDto {
+    private Long startOffset;
+    private Long endOffset;
+}
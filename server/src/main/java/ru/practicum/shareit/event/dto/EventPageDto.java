@@ -0,0 +1,16 @@
+package ru.practicum.shareit.event.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EventPageDto {
+    private List<EventRecordDto> events;
+    // смещение для следующего запроса: потребитель продолжает чтение с него
+    private Long nextOffset;
+}
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.event.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EventRecordDto {
+    private Long offset;
+    @JsonRawValue
+    private String event;
+}
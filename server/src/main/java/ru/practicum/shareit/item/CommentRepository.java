@@ -1,12 +1,25 @@
 package ru.practicum.shareit.item;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.item.model.Comment;
 
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
-    List<Comment> findAllByItemId(Long itemId);
+    @EntityGraph(attributePaths = "author")
+    List<Comment> findAllByItemIdAndIdLessThanOrderByIdDesc(Long itemId, Long beforeId, Limit limit);
 
-    List<Comment> findAllByItemIdIn(List<Long> itemIds);
-}
\ No newline at end of file
+    @EntityGraph(attributePaths = "author")
+    List<Comment> findAllByIdInOrderByIdDesc(List<Long> ids);
+
+    // последние limit комментариев каждой вещи одним запросом, без выборки всей истории
+    @Query(value = "SELECT ranked.id FROM ("
+            + "SELECT c.id, ROW_NUMBER() OVER (PARTITION BY c.item_id ORDER BY c.id DESC) AS rn "
+            + "FROM comments c WHERE c.item_id IN (:itemIds)) ranked "
+            + "WHERE ranked.rn <= :limit", nativeQuery = true)
+    List<Long> findLatestIdsByItemIdIn(@Param("itemIds") List<Long> itemIds, @Param("limit") int limit);
+}
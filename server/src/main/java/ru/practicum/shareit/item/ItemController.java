@@ -6,6 +6,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.OwnerSummaryDto;
 
 import java.util.List;
 
@@ -46,10 +47,18 @@ public class ItemController {
         return itemService.getByOwner(userId);
     }
 
+    @GetMapping("/owner/summary")
+    public OwnerSummaryDto getOwnerSummary(@RequestHeader(USER_ID_HEADER) Long userId) {
+        log.info("GET /items/owner/summary id={}", userId);
+        return itemService.getOwnerSummary(userId);
+    }
+
     @GetMapping("/search")
-    public List<ItemDto> search(@RequestParam String text) {
-        log.info("GET /items/search?text={}", text);
-        return itemService.search(text);
+    public List<ItemDto> search(@RequestParam String text,
+        @RequestParam(defaultValue = "0") Integer from,
+        @RequestParam(defaultValue = "100") Integer size) {
+        log.info("GET /items/search?text={}&from={}&size={}", text, from, size);
+        return itemService.search(text, from, size);
     }
 
     @PostMapping("/{itemId}/comment")
@@ -60,4 +69,13 @@ public class ItemController {
         log.info("POST /items/{}/comment id={}", itemId, userId);
         return itemService.createComment(userId, itemId, commentDto);
     }
+
+    // постраничная выдача по ключу: следующая страница начинается после id последнего полученного комментария
+    @GetMapping("/{itemId}/comments")
+    public List<CommentDto> getComments(@PathVariable Long itemId,
+                                        @RequestParam(required = false) Long beforeId,
+                                        @RequestParam(defaultValue = "20") Integer size) {
+        log.info("GET /items/{}/comments?beforeId={}&size={}", itemId, beforeId, size);
+        return itemService.getComments(itemId, beforeId, size);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.item;
+
+import ru.practicum.shareit.item.dto.OwnerSummaryDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ItemDashboardRepository {
+
+    /**
+     * Сводка по вещам владельца одним агрегирующим запросом: число бронирований по статусам и состояниям,
+     * последнее и следующее бронирование, число комментариев. Сущности бронирований не загружаются.
+     */
+    List<OwnerSummaryDto.ItemStats> summarizeByOwner(Long ownerId, LocalDateTime now);
+}
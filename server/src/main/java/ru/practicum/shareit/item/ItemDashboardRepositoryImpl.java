@@ -0,0 +1,96 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.OwnerSummaryDto;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Сводка написана на SQL, который понимают PostgreSQL и H2: агрегаты с {@code FILTER (WHERE ...)}
+ * и оконная {@code ROW_NUMBER()}. MySQL, Oracle и SQL Server не поддерживают {@code FILTER}, поэтому для них
+ * условные агрегаты придётся переписать через {@code COUNT(CASE WHEN ... THEN 1 END)} и {@code MAX(CASE ...)}.
+ */
+@RequiredArgsConstructor
+public class ItemDashboardRepositoryImpl implements ItemDashboardRepository {
+    // последнее и следующее бронирование выбираются как в ItemBookingTimeline: среди неотклонённых,
+    // последнее — с началом не позже now, следующее — с началом позже now
+    private static final String SUMMARIZE_BY_OWNER = "SELECT i.id, i.name, i.is_available, i.comment_count, "
+            + "COUNT(b.id) AS total, "
+            + "COUNT(b.id) FILTER (WHERE b.status = 'WAITING') AS waiting, "
+            + "COUNT(b.id) FILTER (WHERE b.status = 'APPROVED') AS approved, "
+            + "COUNT(b.id) FILTER (WHERE b.status = 'REJECTED') AS rejected, "
+            + "COUNT(b.id) FILTER (WHERE b.status = 'CANCELED') AS canceled, "
+            + "COUNT(b.id) FILTER (WHERE b.start_date < :now AND b.end_date > :now) AS current_count, "
+            + "COUNT(b.id) FILTER (WHERE b.end_date < :now) AS past, "
+            + "COUNT(b.id) FILTER (WHERE b.start_date > :now) AS future, "
+            + "MAX(b.id) FILTER (WHERE b.last_rank = 1) AS last_id, "
+            + "MAX(b.booker_id) FILTER (WHERE b.last_rank = 1) AS last_booker_id, "
+            + "MAX(b.id) FILTER (WHERE b.next_rank = 1) AS next_id, "
+            + "MAX(b.booker_id) FILTER (WHERE b.next_rank = 1) AS next_booker_id "
+            + "FROM items i "
+            + "LEFT JOIN (SELECT b.id, b.item_id, b.booker_id, b.status, b.start_date, b.end_date, "
+            + "CASE WHEN b.status <> 'REJECTED' AND b.start_date <= :now THEN ROW_NUMBER() OVER ("
+            + "PARTITION BY b.item_id ORDER BY CASE WHEN b.status <> 'REJECTED' AND b.start_date <= :now "
+            + "THEN 0 ELSE 1 END, b.start_date DESC, b.id DESC) END AS last_rank, "
+            + "CASE WHEN b.status <> 'REJECTED' AND b.start_date > :now THEN ROW_NUMBER() OVER ("
+            + "PARTITION BY b.item_id ORDER BY CASE WHEN b.status <> 'REJECTED' AND b.start_date > :now "
+            + "THEN 0 ELSE 1 END, b.start_date, b.id) END AS next_rank "
+            + "FROM bookings b JOIN items oi ON oi.id = b.item_id WHERE oi.owner_id = :ownerId) b "
+            + "ON b.item_id = i.id "
+            + "WHERE i.owner_id = :ownerId "
+            + "GROUP BY i.id, i.name, i.is_available, i.comment_count "
+            + "ORDER BY i.id";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<OwnerSummaryDto.ItemStats> summarizeByOwner(Long ownerId, LocalDateTime now) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("ownerId", ownerId)
+                .addValue("now", now);
+        return jdbcTemplate.query(SUMMARIZE_BY_OWNER, parameters, (rs, rowNum) -> toItemStats(rs));
+    }
+
+    private static OwnerSummaryDto.ItemStats toItemStats(ResultSet rs) throws SQLException {
+        Map<BookingStatus, Long> statusCounts = new EnumMap<>(BookingStatus.class);
+        statusCounts.put(BookingStatus.WAITING, rs.getLong("waiting"));
+        statusCounts.put(BookingStatus.APPROVED, rs.getLong("approved"));
+        statusCounts.put(BookingStatus.REJECTED, rs.getLong("rejected"));
+        statusCounts.put(BookingStatus.CANCELED, rs.getLong("canceled"));
+
+        Map<BookingState, Long> stateCounts = new EnumMap<>(BookingState.class);
+        stateCounts.put(BookingState.ALL, rs.getLong("total"));
+        stateCounts.put(BookingState.CURRENT, rs.getLong("current_count"));
+        stateCounts.put(BookingState.PAST, rs.getLong("past"));
+        stateCounts.put(BookingState.FUTURE, rs.getLong("future"));
+        stateCounts.put(BookingState.WAITING, statusCounts.get(BookingStatus.WAITING));
+        stateCounts.put(BookingState.REJECTED, statusCounts.get(BookingStatus.REJECTED));
+
+        return OwnerSummaryDto.ItemStats.builder()
+                .id(rs.getLong("id"))
+                .name(rs.getString("name"))
+                .available(rs.getBoolean("is_available"))
+                .commentCount(rs.getInt("comment_count"))
+                .statusCounts(statusCounts)
+                .stateCounts(stateCounts)
+                .lastBooking(toShortDto(rs, "last_id", "last_booker_id"))
+                .nextBooking(toShortDto(rs, "next_id", "next_booker_id"))
+                .build();
+    }
+
+    private static ItemDto.BookingShortDto toShortDto(ResultSet rs, String idColumn, String bookerColumn)
+            throws SQLException {
+        long id = rs.getLong(idColumn);
+        return rs.wasNull() ? null : new ItemDto.BookingShortDto(id, rs.getLong(bookerColumn));
+    }
+}
@@ -2,6 +2,7 @@ package ru.practicum.shareit.item;
 
 import lombok.experimental.UtilityClass;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemSummary;
 import ru.practicum.shareit.item.model.Item;
 
 @UtilityClass
@@ -14,6 +15,30 @@ public class ItemMapper {
                 .description(item.getDescription())
                 .available(item.getAvailable())
                 .requestId(item.getRequest() != null ? item.getRequest().getId() : null)
+                .commentCount(item.getCommentCount())
+                .build();
+    }
+
+    public static ItemDto toItemDto(ItemSummary summary) {
+        return ItemDto.builder()
+                .id(summary.getId())
+                .name(summary.getName())
+                .description(summary.getDescription())
+                .available(summary.getAvailable())
+                .requestId(summary.getRequestId())
+                .commentCount(summary.getCommentCount())
+                .build();
+    }
+
+    public static ItemSummary toItemSummary(Item item) {
+        return ItemSummary.builder()
+                .id(item.getId())
+                .name(item.getName())
+                .description(item.getDescription())
+                .available(item.getAvailable())
+                .ownerId(item.getOwner().getId())
+                .requestId(item.getRequest() != null ? item.getRequest().getId() : null)
+                .commentCount(item.getCommentCount())
                 .build();
     }
 
@@ -1,20 +1,56 @@
 package ru.practicum.shareit.item;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.item.model.Item;
 
 import java.util.List;
+import java.util.Optional;
 
-public interface ItemRepository extends JpaRepository<Item, Long> {
+public interface ItemRepository extends JpaRepository<Item, Long>, ItemDashboardRepository {
 
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = Item.QUERY_CACHE_REGION)
+    })
     List<Item> findAllByOwnerId(Long ownerId);
 
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = Item.QUERY_CACHE_REGION)
+    })
     List<Item> findAllByRequestId(Long requestId);
 
-    @Query("select i from Item i " +
+    @Query("select i.id from Item i where i.owner.id = ?1")
+    List<Long> findIdsByOwnerId(Long ownerId);
+
+    List<Item> findAllByRequestIdIn(List<Long> requestIds);
+
+    List<Item> findTop1000ByAvailableTrueAndIdGreaterThanOrderByIdAsc(Long id);
+
+    @Query("select i.id from Item i " +
             "where i.available = true " +
             "and (upper(i.name) like upper(concat('%', ?1, '%')) " +
-            "or upper(i.description) like upper(concat('%', ?1, '%')))")
-    List<Item> search(String text);
+            "or upper(i.description) like upper(concat('%', ?1, '%'))) " +
+            "order by case when upper(i.name) like upper(concat('%', ?1, '%')) then 0 else 1 end, i.id")
+    List<Long> search(String text, Pageable page);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i from Item i where i.id = ?1")
+    Optional<Item> findByIdForUpdate(Long id);
+
+    // комментарии автора удаляются каскадом вместе с ним, поэтому счётчики вещей уменьшаются заранее
+    @Modifying
+    @Query(value = "UPDATE items SET comment_count = comment_count - "
+            + "(SELECT COUNT(*) FROM comments c WHERE c.item_id = items.id AND c.author_id = :authorId) "
+            + "WHERE id IN (SELECT item_id FROM comments WHERE author_id = :authorId)", nativeQuery = true)
+    void subtractCommentsOfAuthor(@Param("authorId") Long authorId);
 }
\ No newline at end of file
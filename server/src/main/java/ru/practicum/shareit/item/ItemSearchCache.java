@@ -0,0 +1,104 @@
+package ru.practicum.shareit.item;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.util.TransactionUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.function.Supplier;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Кэш результатов поиска вещей: по нормализованному запросу и странице хранится массив id найденных вещей.
+ * Изменение вещи удаляет только результаты запросов, которые могли найти её до или после изменения:
+ * каждое слово запроса (последовательность букв и цифр) входит в её название или описание.
+ * Это условие не уже, чем у любой реализации {@link ItemSearchEngine}, поэтому устаревший результат не остаётся.
+ */
+@Component
+public class ItemSearchCache {
+    public static final String METRICS_NAME = "itemSearch";
+
+    private final Cache<Key, long[]> cache;
+    // меняется перед каждой инвалидацией: результат поиска, начатого до неё, в кэше не задерживается
+    private volatile long generation;
+
+    public ItemSearchCache(@Value("${shareit.search.cache.max-size}") long maxSize,
+                           @Value("${shareit.search.cache.ttl}") Duration ttl,
+                           MeterRegistry registry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registry, cache, METRICS_NAME);
+    }
+
+    public static String normalize(String text) {
+        return text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Возвращает результат из кэша или выполняет поиск и кэширует его. Запрос должен быть нормализован.
+     */
+    public List<Long> get(String query, Pageable page, Supplier<List<Long>> search) {
+        Key key = new Key(query, page.getOffset(), page.getPageSize());
+        long[] cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return LongStream.of(cached).boxed().toList();
+        }
+        long startGeneration = generation;
+        List<Long> ids = search.get();
+        cache.put(key, ids.stream().mapToLong(Long::longValue).toArray());
+        if (generation != startGeneration) {
+            cache.invalidate(key);
+        }
+        return ids;
+    }
+
+    /**
+     * После фиксации транзакции удаляет результаты запросов, которые находят вещь в состоянии before или after.
+     * Недоступная вещь в результаты не попадает, поэтому её состояние не учитывается; null - вещи не было.
+     */
+    public void invalidate(Item before, Item after) {
+        List<String> texts = Stream.of(before, after)
+                .filter(Objects::nonNull)
+                .filter(item -> Boolean.TRUE.equals(item.getAvailable()))
+                .map(item -> normalize(item.getName() + "\n" + item.getDescription()))
+                .toList();
+        if (!texts.isEmpty()) {
+            TransactionUtils.afterCommit(() -> evictMatching(texts));
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        generation++;
+        cache.invalidateAll();
+    }
+
+    private synchronized void evictMatching(List<String> texts) {
+        generation++;
+        cache.asMap().keySet().removeIf(key -> texts.stream().anyMatch(text -> matches(key.query(), text)));
+    }
+
+    private static boolean matches(String query, String text) {
+        for (String word : query.split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty() && !text.contains(word)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private record Key(String query, long offset, int size) {
+    }
+}
@@ -0,0 +1,34 @@
+package ru.practicum.shareit.item;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Поиск доступных вещей по тексту в названии и описании. Реализация выбирается свойством shareit.search.engine:
+ * memory - индекс триграмм в памяти, like - запрос LIKE к базе, postgres - полнотекстовый индекс PostgreSQL.
+ */
+public interface ItemSearchEngine {
+    String PROPERTY = "shareit.search.engine";
+
+    /**
+     * Возвращает страницу id найденных вещей: сначала совпадения в названии, затем только в описании.
+     * Результат попадает в {@link ItemSearchCache}, поэтому реализации, читающие из базы, читают с основной базы
+     * ({@link ru.practicum.shareit.config.ReadFromPrimary}): отставание реплики иначе осталось бы в кэше до ttl.
+     */
+    List<Long> search(String text, Pageable page);
+
+    /**
+     * Сообщает об изменении вещи. Нужно только реализациям, которые держат собственный индекс.
+     */
+    default void index(Item item) {
+    }
+
+    /**
+     * Убирает вещи, удалённые мимо {@link #index(Item)}: каскадом вместе с владельцем. Вызывается после фиксации.
+     */
+    default void remove(Collection<Long> itemIds) {
+    }
+}
@@ -0,0 +1,196 @@
+package ru.practicum.shareit.item;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.util.TransactionUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Инвертированный индекс триграмм по названию и описанию доступных вещей.
+ * Повторяет семантику {@link ItemRepository#search(String, Pageable)}: регистронезависимое вхождение подстроки
+ * в название или описание и только {@code available = true}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = ItemSearchEngine.PROPERTY, havingValue = "memory", matchIfMissing = true)
+@RequiredArgsConstructor
+public class ItemSearchIndex implements ItemSearchEngine {
+    private static final int GRAM_SIZE = 3;
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    private final ItemRepository itemRepository;
+
+    private final Map<Long, IndexedItem> items = new HashMap<>();
+    private final Map<String, Set<Long>> postings = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @PostConstruct
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            items.clear();
+            postings.clear();
+            long lastId = 0;
+            List<Item> batch;
+            do {
+                batch = itemRepository.findTop1000ByAvailableTrueAndIdGreaterThanOrderByIdAsc(lastId);
+                for (Item item : batch) {
+                    add(toIndexed(item));
+                    lastId = item.getId();
+                }
+            } while (batch.size() == LOAD_BATCH_SIZE);
+            log.info("Поисковый индекс построен: {} вещей, {} триграмм", items.size(), postings.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Обновляет вещь в индексе. Внутри транзакции изменение применяется только после её фиксации.
+     */
+    @Override
+    public void index(Item item) {
+        IndexedItem indexed = toIndexed(item);
+        TransactionUtils.afterCommit(() -> apply(indexed));
+    }
+
+    @Override
+    public void remove(Collection<Long> itemIds) {
+        lock.writeLock().lock();
+        try {
+            itemIds.forEach(this::remove);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Long> search(String text, Pageable page) {
+        String query = normalize(text);
+        lock.readLock().lock();
+        try {
+            List<Long> inName = new ArrayList<>();
+            List<Long> inDescription = new ArrayList<>();
+            for (Long id : candidates(query)) {
+                IndexedItem item = items.get(id);
+                if (item.getName().contains(query)) {
+                    inName.add(id);
+                } else if (item.getDescription().contains(query)) {
+                    inDescription.add(id);
+                }
+            }
+            Collections.sort(inName);
+            Collections.sort(inDescription);
+            inName.addAll(inDescription);
+            return inName.stream()
+                    .skip(page.getOffset())
+                    .limit(page.getPageSize())
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Set<Long> candidates(String query) {
+        if (query.length() < GRAM_SIZE) {
+            return items.keySet();
+        }
+        Set<Long> smallest = null;
+        Set<String> grams = grams(query);
+        for (String gram : grams) {
+            Set<Long> ids = postings.get(gram);
+            if (ids == null) {
+                return Collections.emptySet();
+            }
+            if (smallest == null || ids.size() < smallest.size()) {
+                smallest = ids;
+            }
+        }
+        Set<Long> result = new HashSet<>(smallest);
+        for (String gram : grams) {
+            result.retainAll(postings.get(gram));
+        }
+        return result;
+    }
+
+    private void apply(IndexedItem indexed) {
+        lock.writeLock().lock();
+        try {
+            remove(indexed.getId());
+            if (indexed.isAvailable()) {
+                add(indexed);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void add(IndexedItem item) {
+        items.put(item.getId(), item);
+        for (String gram : grams(item)) {
+            postings.computeIfAbsent(gram, g -> new HashSet<>()).add(item.getId());
+        }
+    }
+
+    private void remove(Long id) {
+        IndexedItem old = items.remove(id);
+        if (old == null) {
+            return;
+        }
+        for (String gram : grams(old)) {
+            Set<Long> ids = postings.get(gram);
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    private static Set<String> grams(IndexedItem item) {
+        Set<String> result = grams(item.getName());
+        result.addAll(grams(item.getDescription()));
+        return result;
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> result = new HashSet<>();
+        for (int i = 0; i + GRAM_SIZE <= text.length(); i++) {
+            result.add(text.substring(i, i + GRAM_SIZE));
+        }
+        return result;
+    }
+
+    private static IndexedItem toIndexed(Item item) {
+        return new IndexedItem(item.getId(), normalize(item.getName()), normalize(item.getDescription()),
+                Boolean.TRUE.equals(item.getAvailable()));
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toUpperCase(Locale.ROOT);
+    }
+
+    @Value
+    private static class IndexedItem {
+        Long id;
+        String name;
+        String description;
+        boolean available;
+    }
+}
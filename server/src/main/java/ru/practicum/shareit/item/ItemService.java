@@ -2,6 +2,7 @@ package ru.practicum.shareit.item;
 
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.OwnerSummaryDto;
 
 import java.util.List;
 
@@ -14,7 +15,11 @@ public interface ItemService {
 
     List<ItemDto> getByOwner(Long userId);
 
-    List<ItemDto> search(String text);
+    OwnerSummaryDto getOwnerSummary(Long userId);
+
+    List<ItemDto> search(String text, Integer from, Integer size);
 
     CommentDto createComment(Long userId, Long itemId, CommentDto commentDto);
+
+    List<CommentDto> getComments(Long itemId, Long beforeId, Integer size);
 }
\ No newline at end of file
@@ -1,48 +1,69 @@
 package ru.practicum.shareit.item;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Sort;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.booking.ItemBookingTimeline;
 import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.config.CacheConfig;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemSummary;
+import ru.practicum.shareit.item.dto.OwnerSummaryDto;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.metrics.ShareItMetrics;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.user.CurrentUser;
 import ru.practicum.shareit.user.User;
-import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.util.OffsetPageRequest;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 
 import static java.util.stream.Collectors.groupingBy;
 import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
 
 @Slf4j
 @Service
+@Timed(ShareItMetrics.SERVICE_TIMER)
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class ItemServiceImpl implements ItemService {
+    static final int LATEST_COMMENTS = 3;
+    static final int MAX_SEARCH_RESULTS = 1000;
+
     private final ItemRepository itemRepository;
-    private final UserRepository userRepository;
     private final BookingRepository bookingRepository;
+    private final ItemBookingTimeline itemBookingTimeline;
     private final CommentRepository commentRepository;
     private final ItemRequestRepository itemRequestRepository;
+    private final ItemSearchEngine itemSearchEngine;
+    private final ItemSearchCache itemSearchCache;
+    private final ItemSummaryService itemSummaryService;
+    private final CurrentUser currentUser;
+    private final ShareItMetrics metrics;
 
     @Override
     @Transactional
     public ItemDto create(Long userId, ItemDto itemDto) {
-        User owner = getUser(userId);
+        User owner = currentUser.getReference(userId);
         Item item = ItemMapper.toItem(itemDto);
         item.setOwner(owner);
 
@@ -52,17 +73,26 @@ public class ItemServiceImpl implements ItemService {
             item.setRequest(request);
         }
 
-        return ItemMapper.toItemDto(itemRepository.save(item));
+        Item saved = itemRepository.save(item);
+        itemSearchEngine.index(saved);
+        itemSearchCache.invalidate(null, saved);
+        return ItemMapper.toItemDto(saved);
     }
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.ITEMS, key = "#itemId")
     public ItemDto update(Long userId, Long itemId, ItemDto itemDto) {
         Item item = getItem(itemId);
 
         if (!item.getOwner().getId().equals(userId)) {
             throw new NotFoundException("Вещь с id=" + itemId + " не принадлежит пользователю с id=" + userId);
         }
+        Item before = Item.builder()
+                .name(item.getName())
+                .description(item.getDescription())
+                .available(item.getAvailable())
+                .build();
 
         if (itemDto.getName() != null && !itemDto.getName().isBlank()) {
             item.setName(itemDto.getName());
@@ -73,23 +103,25 @@ public class ItemServiceImpl implements ItemService {
         if (itemDto.getAvailable() != null) {
             item.setAvailable(itemDto.getAvailable());
         }
+        if (!Objects.equals(before.getName(), item.getName())
+                || !Objects.equals(before.getDescription(), item.getDescription())
+                || !Objects.equals(before.getAvailable(), item.getAvailable())) {
+            itemSearchEngine.index(item);
+            itemSearchCache.invalidate(before, item);
+        }
 
         return ItemMapper.toItemDto(item);
     }
 
     @Override
     public ItemDto getById(Long itemId, Long userId) {
-        Item item = getItem(itemId);
+        ItemSummary item = itemSummaryService.getSummary(itemId);
         ItemDto itemDto = ItemMapper.toItemDto(item);
 
-        itemDto.setComments(commentRepository.findAllByItemId(itemId).stream()
-                .map(CommentMapper::toCommentDto)
-                .collect(toList()));
+        itemDto.setComments(findComments(itemId, Long.MAX_VALUE, LATEST_COMMENTS));
 
-        if (item.getOwner().getId().equals(userId)) {
-            List<Booking> bookings = bookingRepository.findAllByItemIdAndStatusNot(itemId,
-                    BookingStatus.REJECTED, Sort.by(Sort.Direction.ASC, "start"));
-            setBookings(itemDto, bookings);
+        if (item.getOwnerId().equals(userId)) {
+            setBookings(itemDto, LocalDateTime.now());
         }
 
         return itemDto;
@@ -97,40 +129,69 @@ public class ItemServiceImpl implements ItemService {
 
     @Override
     public List<ItemDto> getByOwner(Long userId) {
-        getUser(userId);
+        currentUser.get(userId);
         List<Item> items = itemRepository.findAllByOwnerId(userId);
         List<Long> itemIds = items.stream().map(Item::getId).collect(toList());
+        LocalDateTime now = LocalDateTime.now();
 
-        Map<Long, List<Booking>> bookingsMap = bookingRepository.findAllByItemIdInAndStatusNot(itemIds,
-                        BookingStatus.REJECTED, Sort.by(Sort.Direction.ASC, "start"))
-                .stream().collect(groupingBy(b -> b.getItem().getId()));
-
-        Map<Long, List<Comment>> commentsMap = commentRepository.findAllByItemIdIn(itemIds)
+        Map<Long, List<Comment>> commentsMap = itemIds.isEmpty() ? Collections.emptyMap()
+                : commentRepository.findAllByIdInOrderByIdDesc(
+                        commentRepository.findLatestIdsByItemIdIn(itemIds, LATEST_COMMENTS))
                 .stream().collect(groupingBy(c -> c.getItem().getId()));
 
-        return items.stream()
+        return metrics.rows("items.owner", items.stream()
                 .map(item -> {
                     ItemDto dto = ItemMapper.toItemDto(item);
-                    setBookings(dto, bookingsMap.getOrDefault(item.getId(), Collections.emptyList()));
+                    setBookings(dto, now);
                     dto.setComments(commentsMap.getOrDefault(item.getId(), Collections.emptyList()).stream()
                             .map(CommentMapper::toCommentDto).collect(toList()));
                     return dto;
                 })
                 .sorted(Comparator.comparing(ItemDto::getId))
-                .collect(toList());
+                .collect(toList()));
     }
 
     @Override
-    public List<ItemDto> search(String text) {
+    public OwnerSummaryDto getOwnerSummary(Long userId) {
+        currentUser.get(userId);
+        List<OwnerSummaryDto.ItemStats> items = metrics.rows("items.owner.summary",
+                itemRepository.summarizeByOwner(userId, LocalDateTime.now()));
+
+        Map<BookingState, Long> bookingCounts = new EnumMap<>(BookingState.class);
+        for (BookingState state : BookingState.values()) {
+            bookingCounts.put(state, items.stream().mapToLong(item -> item.getStateCounts().get(state)).sum());
+        }
+        return OwnerSummaryDto.builder()
+                .bookingCounts(bookingCounts)
+                .items(items)
+                .build();
+    }
+
+    @Override
+    public List<ItemDto> search(String text, Integer from, Integer size) {
+        OffsetPageRequest page = OffsetPageRequest.of(from, size);
+        if (size > MAX_SEARCH_RESULTS) {
+            throw new ValidationException("Размер страницы поиска не может быть больше " + MAX_SEARCH_RESULTS);
+        }
         if (text == null || text.isBlank()) {
             return Collections.emptyList();
         }
-        return itemRepository.search(text).stream()
-                .map(ItemMapper::toItemDto).collect(toList());
+        String query = ItemSearchCache.normalize(text);
+        // поиск идёт первым запросом транзакции: при промахе кэша соединение берётся с основной базы
+        List<Long> ids = itemSearchCache.get(query, page, () -> itemSearchEngine.search(query, page));
+        // вещи загружаются одним запросом, порядок ранжирования восстанавливается по списку id
+        Map<Long, Item> items = itemRepository.findAllById(ids).stream()
+                .collect(toMap(Item::getId, Function.identity()));
+        return metrics.rows("items.search", ids.stream()
+                .map(items::get)
+                .filter(Objects::nonNull)
+                .map(ItemMapper::toItemDto)
+                .collect(toList()));
     }
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.ITEMS, key = "#itemId")
     public CommentDto createComment(Long userId, Long itemId, CommentDto commentDto) {
         LocalDateTime now = LocalDateTime.now();
         boolean hasBooking = bookingRepository.existsByBookerIdAndItemIdAndEndBeforeAndStatus(
@@ -140,8 +201,11 @@ public class ItemServiceImpl implements ItemService {
             throw new ValidationException("Пользователь с id=" + userId + " не брал в аренду вещь с id=" + itemId);
         }
 
-        User author = getUser(userId);
-        Item item = getItem(itemId);
+        User author = currentUser.getReference(userId);
+        // блокировка строки вещи: параллельные комментарии не теряют приращения счётчика
+        Item item = itemRepository.findByIdForUpdate(itemId)
+                .orElseThrow(() -> new NotFoundException("Вещь с id=" + itemId + " не найдена"));
+        item.setCommentCount(item.getCommentCount() + 1);
 
         Comment comment = CommentMapper.toComment(commentDto);
         comment.setItem(item);
@@ -151,9 +215,17 @@ public class ItemServiceImpl implements ItemService {
         return CommentMapper.toCommentDto(commentRepository.save(comment));
     }
 
-    private User getUser(Long userId) {
-        return userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("Пользователь с id=" + userId + " не найден"));
+    @Override
+    public List<CommentDto> getComments(Long itemId, Long beforeId, Integer size) {
+        itemSummaryService.getSummary(itemId);
+        return findComments(itemId, beforeId != null ? beforeId : Long.MAX_VALUE, size);
+    }
+
+    private List<CommentDto> findComments(Long itemId, Long beforeId, int size) {
+        return commentRepository.findAllByItemIdAndIdLessThanOrderByIdDesc(itemId, beforeId, Limit.of(size))
+                .stream()
+                .map(CommentMapper::toCommentDto)
+                .collect(toList());
     }
 
     private Item getItem(Long itemId) {
@@ -161,24 +233,8 @@ public class ItemServiceImpl implements ItemService {
                 .orElseThrow(() -> new NotFoundException("Вещь с id=" + itemId + " не найдена"));
     }
 
-    private void setBookings(ItemDto itemDto, List<Booking> bookings) {
-        LocalDateTime now = LocalDateTime.now();
-
-        Booking lastBooking = bookings.stream()
-                .filter(b -> !b.getStart().isAfter(now))
-                .reduce((first, second) -> second)
-                .orElse(null);
-
-        Booking nextBooking = bookings.stream()
-                .filter(b -> b.getStart().isAfter(now))
-                .findFirst()
-                .orElse(null);
-
-        if (lastBooking != null) {
-            itemDto.setLastBooking(new ItemDto.BookingShortDto(lastBooking.getId(), lastBooking.getBooker().getId()));
-        }
-        if (nextBooking != null) {
-            itemDto.setNextBooking(new ItemDto.BookingShortDto(nextBooking.getId(), nextBooking.getBooker().getId()));
-        }
+    private void setBookings(ItemDto itemDto, LocalDateTime now) {
+        itemDto.setLastBooking(itemBookingTimeline.getLast(itemDto.getId(), now));
+        itemDto.setNextBooking(itemBookingTimeline.getNext(itemDto.getId(), now));
     }
 }
\ No newline at end of file
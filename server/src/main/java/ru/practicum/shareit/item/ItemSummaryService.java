@@ -0,0 +1,25 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.config.CacheConfig;
+import ru.practicum.shareit.config.ReadFromPrimary;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.dto.ItemSummary;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ItemSummaryService {
+    private final ItemRepository itemRepository;
+
+    @ReadFromPrimary
+    @Cacheable(cacheNames = CacheConfig.ITEMS, key = "#itemId")
+    public ItemSummary getSummary(Long itemId) {
+        return itemRepository.findById(itemId)
+                .map(ItemMapper::toItemSummary)
+                .orElseThrow(() -> new NotFoundException("Вещь с id=" + itemId + " не найдена"));
+    }
+}
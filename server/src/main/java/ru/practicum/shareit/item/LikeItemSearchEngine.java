@@ -0,0 +1,23 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.config.ReadFromPrimary;
+
+import java.util.List;
+
+// поиск подстроки запросом к базе без отдельного индекса: работает на любой базе, в том числе H2
+@Component
+@ConditionalOnProperty(name = ItemSearchEngine.PROPERTY, havingValue = "like")
+@RequiredArgsConstructor
+public class LikeItemSearchEngine implements ItemSearchEngine {
+    private final ItemRepository itemRepository;
+
+    @Override
+    @ReadFromPrimary
+    public List<Long> search(String text, Pageable page) {
+        return itemRepository.search(text, page);
+    }
+}
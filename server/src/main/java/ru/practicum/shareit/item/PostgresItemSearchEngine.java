@@ -0,0 +1,55 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.config.ReadFromPrimary;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Полнотекстовый поиск по столбцу items.search_vector с GIN-индексом (schema-postgresql.sql).
+ * Каждое слово запроса ищется как префикс слова вещи, совпадения в названии весят больше, чем в описании.
+ * В отличие от LIKE не находит подстроку внутри слова.
+ * Нужна база с UTF-8 локалью: в локали C to_tsvector не переводит кириллицу в нижний регистр, а запрос переводится.
+ */
+@Component
+@ConditionalOnProperty(name = ItemSearchEngine.PROPERTY, havingValue = "postgres")
+@RequiredArgsConstructor
+public class PostgresItemSearchEngine implements ItemSearchEngine {
+    private static final String SEARCH = "SELECT i.id FROM items i, to_tsquery('simple', :query) q "
+            + "WHERE i.is_available AND i.search_vector @@ q "
+            + "ORDER BY ts_rank(i.search_vector, q) DESC, i.id "
+            + "LIMIT :limit OFFSET :offset";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    @ReadFromPrimary
+    public List<Long> search(String text, Pageable page) {
+        String query = toTsQuery(text);
+        if (query.isEmpty()) {
+            return Collections.emptyList();
+        }
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("query", query)
+                .addValue("limit", page.getPageSize())
+                .addValue("offset", page.getOffset());
+        return jdbcTemplate.queryForList(SEARCH, parameters, Long.class);
+    }
+
+    // из запроса берутся только буквы и цифры: операторы tsquery пользователю недоступны
+    static String toTsQuery(String text) {
+        return Stream.of(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(word -> !word.isEmpty())
+                .map(word -> word + ":*")
+                .collect(Collectors.joining(" & "));
+    }
+}
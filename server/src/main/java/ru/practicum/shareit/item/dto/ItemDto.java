@@ -29,6 +29,8 @@ public class ItemDto {
 
     private BookingShortDto lastBooking;
     private BookingShortDto nextBooking;
+    private Integer commentCount;
+    // последние комментарии, новые первыми; остальные — через GET /items/{itemId}/comments
     private List<CommentDto> comments;
 
     @Data
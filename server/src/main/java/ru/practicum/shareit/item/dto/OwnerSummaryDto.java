@@ -0,0 +1,36 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.booking.BookingStatus;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class OwnerSummaryDto {
+    // суммы по всем вещам владельца: числа для вкладок /bookings/owner?state=...
+    private Map<BookingState, Long> bookingCounts;
+    private List<ItemStats> items;
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class ItemStats {
+        private Long id;
+        private String name;
+        private Boolean available;
+        private Integer commentCount;
+        private Map<BookingStatus, Long> statusCounts;
+        private Map<BookingState, Long> stateCounts;
+        private ItemDto.BookingShortDto lastBooking;
+        private ItemDto.BookingShortDto nextBooking;
+    }
+}
@@ -2,11 +2,14 @@ package ru.practicum.shareit.item.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.request.ItemRequest;
 
 @Entity
 @Table(name = "items")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Item.CACHE_REGION)
 @Getter
 @Setter
 @Builder
@@ -14,6 +17,9 @@ import ru.practicum.shareit.request.ItemRequest;
 @AllArgsConstructor
 @NoArgsConstructor
 public class Item {
+    public static final String CACHE_REGION = "item";
+    public static final String QUERY_CACHE_REGION = "item-queries";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -36,4 +42,9 @@ public class Item {
     @JoinColumn(name = "request_id")
     @ToString.Exclude
     private ItemRequest request;
+
+    // число комментариев хранится в строке вещи, чтобы не считать их при каждом показе
+    @Column(name = "comment_count", nullable = false)
+    @Builder.Default
+    private Integer commentCount = 0;
 }
\ No newline at end of file
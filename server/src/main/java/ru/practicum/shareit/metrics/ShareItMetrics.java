@@ -0,0 +1,45 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Прикладные метрики сервера. Идентификаторы пользователей в теги не попадают: число серий
+ * должно оставаться ограниченным, поэтому нагрузка видна в разрезе фильтров и списков.
+ */
+@Component
+@RequiredArgsConstructor
+public class ShareItMetrics {
+    public static final String SERVICE_TIMER = "shareit.service";
+    public static final String BOOKING_QUERIES = "shareit.bookings.queries";
+    public static final String LISTING_ROWS = "shareit.listing.rows";
+    public static final String HTTP_STATEMENTS = "shareit.http.statements";
+
+    private final MeterRegistry registry;
+
+    public void bookingQuery(String role, String state) {
+        registry.counter(BOOKING_QUERIES, "role", role, "state", state).increment();
+    }
+
+    public <T> List<T> rows(String listing, List<T> rows) {
+        DistributionSummary.builder(LISTING_ROWS)
+                .tag("listing", listing)
+                .baseUnit("rows")
+                .register(registry)
+                .record(rows.size());
+        return rows;
+    }
+
+    public void statements(String method, String uri, int count) {
+        DistributionSummary.builder(HTTP_STATEMENTS)
+                .tag("method", method)
+                .tag("uri", uri)
+                .baseUnit("statements")
+                .register(registry)
+                .record(count);
+    }
+}
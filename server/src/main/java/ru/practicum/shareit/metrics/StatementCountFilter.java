@@ -0,0 +1,30 @@
+package ru.practicum.shareit.metrics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+// число SQL-операторов на запрос в разрезе шаблона пути, а не конкретного URL
+@RequiredArgsConstructor
+public class StatementCountFilter extends OncePerRequestFilter {
+    private final ShareItMetrics metrics;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        StatementCountInspector.start();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            int count = StatementCountInspector.stop();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            metrics.statements(request.getMethod(), pattern != null ? pattern.toString() : "UNKNOWN", count);
+        }
+    }
+}
@@ -2,6 +2,8 @@ package ru.practicum.shareit.request;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.User;
 import java.time.LocalDateTime;
@@ -9,12 +11,15 @@ import java.util.List;
 
 @Entity
 @Table(name = "requests")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = ItemRequest.CACHE_REGION)
 @Getter
 @Setter
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
 public class ItemRequest {
+    public static final String CACHE_REGION = "item-request";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
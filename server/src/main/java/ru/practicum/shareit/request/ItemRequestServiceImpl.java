@@ -1,5 +1,6 @@
 package ru.practicum.shareit.request;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
@@ -9,27 +10,31 @@ import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.ItemMapper;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.metrics.ShareItMetrics;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.user.CurrentUser;
 import ru.practicum.shareit.user.User;
-import ru.practicum.shareit.user.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
+@Timed(ShareItMetrics.SERVICE_TIMER)
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class ItemRequestServiceImpl implements ItemRequestService {
     private final ItemRequestRepository requestRepository;
-    private final UserRepository userRepository;
     private final ItemRepository itemRepository;
+    private final CurrentUser currentUser;
+    private final ShareItMetrics metrics;
 
     @Override
     @Transactional
     public ItemRequestDto create(Long userId, ItemRequestDto dto) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("Пользователь не найден"));
+        User user = currentUser.getReference(userId);
 
         ItemRequest request = ItemRequestMapper.toEntity(dto);
         request.setRequestor(user);
@@ -40,47 +45,48 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
     @Override
     public List<ItemRequestDto> getUserRequests(Long userId) {
-        if (!userRepository.existsById(userId)) {
-            throw new NotFoundException("Пользователь не найден");
-        }
-        return requestRepository.findAllByRequestorIdOrderByCreatedDesc(userId)
-                .stream()
-                .map(this::addItems)
-                .collect(Collectors.toList());
+        currentUser.get(userId);
+        return metrics.rows("requests.user", addItems(requestRepository.findAllByRequestorIdOrderByCreatedDesc(userId)));
     }
 
     @Override
     public List<ItemRequestDto> getAllRequests(Long userId, Integer from, Integer size) {
-        if (!userRepository.existsById(userId)) {
-            throw new NotFoundException("Пользователь не найден");
-        }
+        currentUser.get(userId);
 
         PageRequest pageRequest = PageRequest.of(from / size, size, Sort.by("created").descending());
 
-        return requestRepository.findAllByRequestorIdNotOrderByCreatedDesc(userId, pageRequest)
-                .stream()
-                .map(this::addItems)
-                .collect(Collectors.toList());
+        return metrics.rows("requests.all", addItems(requestRepository.findAllByRequestorIdNotOrderByCreatedDesc(userId, pageRequest)));
     }
 
     @Override
     public ItemRequestDto getRequestById(Long userId, Long requestId) {
-        if (!userRepository.existsById(userId)) {
-            throw new NotFoundException("Пользователь не найден");
-        }
+        currentUser.get(userId);
         ItemRequest request = requestRepository.findById(requestId)
                 .orElseThrow(() -> new NotFoundException("Запрос не найден"));
 
-        return addItems(request);
+        ItemRequestDto dto = ItemRequestMapper.toDto(request);
+        dto.setItems(itemRepository.findAllByRequestId(requestId).stream()
+                .map(ItemMapper::toItemDto)
+                .collect(Collectors.toList()));
+        return dto;
     }
 
-    private ItemRequestDto addItems(ItemRequest request) {
-        ItemRequestDto dto = ItemRequestMapper.toDto(request);
-        List<ItemDto> items = itemRepository.findAllByRequestId(request.getId())
+    private List<ItemRequestDto> addItems(List<ItemRequest> requests) {
+        if (requests.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Long> requestIds = requests.stream().map(ItemRequest::getId).collect(Collectors.toList());
+        Map<Long, List<ItemDto>> itemsMap = itemRepository.findAllByRequestIdIn(requestIds)
                 .stream()
-                .map(ItemMapper::toItemDto)
+                .collect(Collectors.groupingBy(item -> item.getRequest().getId(),
+                        Collectors.mapping(ItemMapper::toItemDto, Collectors.toList())));
+
+        return requests.stream()
+                .map(request -> {
+                    ItemRequestDto dto = ItemRequestMapper.toDto(request);
+                    dto.setItems(itemsMap.getOrDefault(request.getId(), Collections.emptyList()));
+                    return dto;
+                })
                 .collect(Collectors.toList());
-        dto.setItems(items);
-        return dto;
     }
 }
\ No newline at end of file
@@ -0,0 +1,41 @@
+package ru.practicum.shareit.user;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import ru.practicum.shareit.user.dto.UserDto;
+
+/**
+ * Пользователь, от имени которого выполняется запрос (заголовок X-Sharer-User-Id).
+ * В пределах HTTP-запроса проверяется один раз и хранится в его атрибутах; вне запроса,
+ * например в потоке выгрузки или в тестах, берётся из кэша пользователей.
+ */
+@Component
+@RequiredArgsConstructor
+public class CurrentUser {
+    private static final String ATTRIBUTE = CurrentUser.class.getName();
+
+    private final UserService userService;
+    private final UserRepository userRepository;
+
+    public UserDto get(Long userId) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return userService.getById(userId);
+        }
+        if (attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof UserDto user
+                && user.getId().equals(userId)) {
+            return user;
+        }
+        UserDto user = userService.getById(userId);
+        attributes.setAttribute(ATTRIBUTE, user, RequestAttributes.SCOPE_REQUEST);
+        return user;
+    }
+
+    // ссылка без запроса к базе: существование пользователя уже проверено
+    public User getReference(Long userId) {
+        get(userId);
+        return userRepository.getReferenceById(userId);
+    }
+}
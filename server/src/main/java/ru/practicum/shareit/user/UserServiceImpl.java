@@ -1,21 +1,46 @@
 package ru.practicum.shareit.user;
 
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManagerFactory;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.ApprovedBookingIndex;
+import ru.practicum.shareit.booking.ItemBookingTimeline;
+import ru.practicum.shareit.config.CacheConfig;
+import ru.practicum.shareit.config.ReadFromPrimary;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemSearchCache;
+import ru.practicum.shareit.item.ItemSearchEngine;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.metrics.ShareItMetrics;
+import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.util.TransactionUtils;
 
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Service
+@Timed(ShareItMetrics.SERVICE_TIMER)
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class UserServiceImpl implements UserService {
     private final UserRepository repository;
+    private final ItemRepository itemRepository;
+    private final ItemSearchCache itemSearchCache;
+    private final ItemSearchEngine itemSearchEngine;
+    private final ItemBookingTimeline itemBookingTimeline;
+    private final ApprovedBookingIndex approvedBookingIndex;
+    private final EntityManagerFactory entityManagerFactory;
 
     @Override
     @Transactional
@@ -26,6 +51,7 @@ public class UserServiceImpl implements UserService {
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.USERS, key = "#id")
     public UserDto update(Long id, UserDto userDto) {
         User user = repository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Пользователь с id " + id + " не найден"));
@@ -41,6 +67,8 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @ReadFromPrimary
+    @Cacheable(cacheNames = CacheConfig.USERS, key = "#id")
     public UserDto getById(Long id) {
         return repository.findById(id)
                 .map(UserMapper::toUserDto)
@@ -56,10 +84,31 @@ public class UserServiceImpl implements UserService {
 
     @Override
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.USERS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.ITEMS, allEntries = true)
+    })
     public void delete(Long id) {
         if (!repository.existsById(id)) {
             throw new NotFoundException("Пользователь с id " + id + " не найден");
         }
+        itemRepository.subtractCommentsOfAuthor(id);
+        List<Long> itemIds = itemRepository.findIdsByOwnerId(id);
         repository.deleteById(id);
+        itemBookingTimeline.removeBooker(id);
+        approvedBookingIndex.removeBooker(id);
+        // вещи и запросы пользователя удаляются каскадом в базе, мимо кэша второго уровня и индексов в памяти
+        TransactionUtils.afterCommit(() -> evictOwnedEntities(itemIds));
+    }
+
+    private void evictOwnedEntities(List<Long> itemIds) {
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        cache.evictEntityData(Item.class);
+        cache.evictEntityData(ItemRequest.class);
+        cache.evictQueryRegion(Item.QUERY_CACHE_REGION);
+        itemSearchEngine.remove(itemIds);
+        itemBookingTimeline.removeItems(itemIds);
+        approvedBookingIndex.removeItems(itemIds);
+        itemSearchCache.invalidateAll();
     }
 }
\ No newline at end of file
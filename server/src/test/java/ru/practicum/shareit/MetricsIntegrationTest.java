@@ -0,0 +1,67 @@
+package ru.practicum.shareit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class MetricsIntegrationTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    private long userId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String user = mvc.perform(post("/users")
+                        .content("{\"name\":\"Metrics\",\"email\":\"metrics@mail.com\"}")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        userId = mapper.readTree(user).get("id").asLong();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        mvc.perform(delete("/users/" + userId));
+    }
+
+    @Test
+    void exposesServiceRepositoryAndRequestMetrics() throws Exception {
+        mvc.perform(get("/bookings").header("X-Sharer-User-Id", userId).param("state", "future"))
+                .andExpect(status().isOk());
+        mvc.perform(get("/items").header("X-Sharer-User-Id", userId))
+                .andExpect(status().isOk());
+
+        String metrics = mvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(metrics)
+                .contains("shareit_bookings_queries_total{role=\"booker\",state=\"FUTURE\"} 1.0")
+                .contains("shareit_listing_rows_count{listing=\"items.owner\"}")
+                .contains("shareit_service_seconds_count{class=\"ru.practicum.shareit.booking.BookingServiceImpl\"")
+                .contains("shareit_service_seconds_bucket{class=\"ru.practicum.shareit.item.ItemServiceImpl\"")
+                .contains("spring_data_repository_invocations_seconds_bucket{")
+                .containsPattern("shareit_http_statements_count\\{method=\"GET\",uri=\"/bookings\"} 1");
+    }
+}
@@ -0,0 +1,161 @@
+package ru.practicum.shareit;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.item.CommentRepository;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.request.ItemRequestRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Проверяет, что запросы, которые Hibernate строит для методов репозиториев, обслуживаются индексами,
+ * а не полным сканированием таблицы: SQL перехватывается при вызове метода и передаётся в EXPLAIN.
+ * Выборка чужих запросов ({@code requestor_id <> ?}) и поиск по подстроке сюда не входят:
+ * по таким условиям H2 всегда сканирует таблицу.
+ */
+@DataJpaTest
+class QueryPlanTest {
+    private static final LocalDateTime NOW = LocalDateTime.now();
+    private static final Sort BY_START = Sort.by("start");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RecordingInspector inspector;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+
+    static Stream<Arguments> repositoryQueries() {
+        return Stream.of(
+                query("findAllByBookerIdAndState", test -> test.bookingRepository
+                        .findAllByBookerIdAndState(1L, "FUTURE", NOW, PageRequest.of(0, 10))),
+                query("findAllByItemOwnerIdAndState", test -> test.bookingRepository
+                        .findAllByItemOwnerIdAndState(1L, "WAITING", NOW, PageRequest.of(0, 10))),
+                query("countByBookerId", test -> test.bookingRepository.countByBookerId(1L, NOW)),
+                query("countByItemOwnerId", test -> test.bookingRepository.countByItemOwnerId(1L, NOW)),
+                query("streamAllByBookerId", test -> consume(test.bookingRepository
+                        .streamAllByBookerIdOrderByStartDescIdDesc(1L))),
+                query("streamAllByItemOwnerId", test -> consume(test.bookingRepository
+                        .streamAllByItemOwnerIdOrderByStartDescIdDesc(1L))),
+                query("findAllByItemIdAndStatus", test -> test.bookingRepository
+                        .findAllByItemIdAndStatus(1L, BookingStatus.APPROVED, BY_START)),
+                query("findAllByItemIdInAndStatus", test -> test.bookingRepository
+                        .findAllByItemIdInAndStatus(List.of(1L, 2L), BookingStatus.APPROVED, BY_START)),
+                query("existsByBookerIdAndItemIdAndEndBeforeAndStatus", test -> test.bookingRepository
+                        .existsByBookerIdAndItemIdAndEndBeforeAndStatus(1L, 1L, NOW, BookingStatus.APPROVED)),
+                query("findTop1000ByStatusNot", test -> test.bookingRepository
+                        .findTop1000ByStatusNotAndIdGreaterThanOrderByIdAsc(BookingStatus.REJECTED, 0L)),
+                query("findTop1000ByStatus", test -> test.bookingRepository
+                        .findTop1000ByStatusAndIdGreaterThanOrderByIdAsc(BookingStatus.APPROVED, 0L)),
+                query("findAllByOwnerId", test -> test.itemRepository.findAllByOwnerId(1L)),
+                query("findIdsByOwnerId", test -> test.itemRepository.findIdsByOwnerId(1L)),
+                query("findAllByRequestId", test -> test.itemRepository.findAllByRequestId(1L)),
+                query("findAllByRequestIdIn", test -> test.itemRepository.findAllByRequestIdIn(List.of(1L, 2L))),
+                query("findTop1000ByAvailableTrue", test -> test.itemRepository
+                        .findTop1000ByAvailableTrueAndIdGreaterThanOrderByIdAsc(0L)),
+                query("findAllByItemIdAndIdLessThan", test -> test.commentRepository
+                        .findAllByItemIdAndIdLessThanOrderByIdDesc(1L, 100L, Limit.of(20))),
+                query("findLatestIdsByItemIdIn", test -> test.commentRepository
+                        .findLatestIdsByItemIdIn(List.of(1L, 2L), 3)),
+                query("findAllByRequestorId", test -> test.itemRequestRepository
+                        .findAllByRequestorIdOrderByCreatedDesc(1L))
+        );
+    }
+
+    @BeforeEach
+    void setUp() {
+        inspector.clear();
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("repositoryQueries")
+    void queryDoesNotScanWholeTable(String method, Consumer<QueryPlanTest> call) {
+        call.accept(this);
+        List<String> statements = inspector.getStatements();
+
+        assertThat(statements).as("SQL метода %s", method).isNotEmpty();
+        for (String sql : statements) {
+            // план строится при подготовке запроса, поэтому значения параметров на него не влияют
+            Object[] parameters = new Object[(int) sql.chars().filter(c -> c == '?').count()];
+            String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, parameters);
+
+            assertThat(plan).as(sql).doesNotContain("tableScan");
+        }
+    }
+
+    private static Arguments query(String method, Consumer<QueryPlanTest> call) {
+        return Arguments.of(method, call);
+    }
+
+    // запрос потока выполняется только при чтении первой строки
+    private static void consume(Stream<?> stream) {
+        try (stream) {
+            stream.findFirst();
+        }
+    }
+
+    static class RecordingInspector implements StatementInspector {
+        private final List<String> statements = new ArrayList<>();
+
+        @Override
+        public synchronized String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+
+        synchronized List<String> getStatements() {
+            return List.copyOf(statements);
+        }
+
+        synchronized void clear() {
+            statements.clear();
+        }
+    }
+
+    @TestConfiguration
+    static class InspectorConfig {
+
+        @Bean
+        RecordingInspector recordingInspector() {
+            return new RecordingInspector();
+        }
+
+        @Bean
+        HibernatePropertiesCustomizer recordingInspectorCustomizer(RecordingInspector inspector) {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.exception.ConflictException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ApprovedBookingIndexTest {
+
+    private final LocalDateTime start = LocalDateTime.now().plusDays(1);
+    private ApprovedBookingIndex index;
+
+    @BeforeEach
+    void setUp() {
+        BookingRepository bookingRepository = mock(BookingRepository.class);
+        when(bookingRepository.findTop1000ByStatusAndIdGreaterThanOrderByIdAsc(any(), anyLong()))
+                .thenReturn(List.of(booking(1L, start, start.plusDays(2), 10L)));
+        index = new ApprovedBookingIndex(bookingRepository);
+        index.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void rejectsOverlappingBookingsOnly() {
+        assertThatThrownBy(() -> index.reserve(booking(2L, start.plusDays(1), start.plusDays(3), 11L)))
+                .isInstanceOf(ConflictException.class);
+        assertThatThrownBy(() -> index.reserve(booking(3L, start.minusDays(1), start.plusHours(1), 11L)))
+                .isInstanceOf(ConflictException.class);
+
+        assertThatCode(() -> index.reserve(booking(4L, start.plusDays(2), start.plusDays(3), 11L)))
+                .doesNotThrowAnyException();
+        assertThatCode(() -> index.reserve(booking(5L, start.minusDays(1), start, 11L)))
+                .doesNotThrowAnyException();
+        assertThatThrownBy(() -> index.reserve(booking(6L, start.minusHours(1), start.plusDays(4), 11L)))
+                .isInstanceOf(ConflictException.class);
+    }
+
+    @Test
+    void sameBookingCannotBeReservedTwice() {
+        assertThatThrownBy(() -> index.reserve(booking(1L, start, start.plusDays(2), 10L)))
+                .isInstanceOf(ConflictException.class);
+    }
+
+    @Test
+    void releaseFreesOnlyTheGivenBooking() {
+        index.release(booking(2L, start, start.plusDays(2), 11L));
+        assertThatThrownBy(() -> index.reserve(booking(3L, start, start.plusDays(1), 11L)))
+                .isInstanceOf(ConflictException.class);
+
+        index.release(booking(1L, start, start.plusDays(2), 10L));
+        assertThatCode(() -> index.reserve(booking(3L, start, start.plusDays(1), 11L)))
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    void releasesReservationWhenTransactionRollsBack() {
+        TransactionSynchronizationManager.initSynchronization();
+        index.reserve(booking(2L, start.plusDays(5), start.plusDays(6), 11L));
+        assertThatThrownBy(() -> index.reserve(booking(3L, start.plusDays(5), start.plusDays(6), 12L)))
+                .isInstanceOf(ConflictException.class);
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertThatCode(() -> index.reserve(booking(3L, start.plusDays(5), start.plusDays(6), 12L)))
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    void removeBookerFreesTheirSlots() {
+        index.removeBooker(10L);
+
+        assertThatCode(() -> index.reserve(booking(2L, start, start.plusDays(1), 11L)))
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    void removeItemsFreesTheirSlots() {
+        index.removeItems(List.of(1L));
+
+        assertThatCode(() -> index.reserve(booking(2L, start, start.plusDays(1), 11L)))
+                .doesNotThrowAnyException();
+    }
+
+    private static Booking booking(Long id, LocalDateTime start, LocalDateTime end, Long bookerId) {
+        return Booking.builder()
+                .id(id)
+                .start(start)
+                .end(end)
+                .item(Item.builder().id(1L).build())
+                .booker(User.builder().id(bookerId).build())
+                .status(BookingStatus.APPROVED)
+                .build();
+    }
+}
@@ -0,0 +1,153 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.exception.ConflictException;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.not;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class BookingApprovalConcurrencyTest {
+    private static final int BOOKINGS = 2000;
+
+    private final BookingService service;
+    private final BookingRepository bookingRepository;
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+    private final UserService userService;
+
+    private final List<Long> userIds = new ArrayList<>();
+    private User owner;
+    private User booker;
+    private Item item;
+
+    @AfterEach
+    void tearDown() {
+        userIds.forEach(userService::delete);
+    }
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(User.builder().name("Owner").email("owner_race@mail.com").build());
+        booker = userRepository.save(User.builder().name("Booker").email("booker_race@mail.com").build());
+        userIds.add(owner.getId());
+        userIds.add(booker.getId());
+        item = itemRepository.save(Item.builder()
+                .name("Дрель")
+                .description("Ударная")
+                .available(true)
+                .owner(owner)
+                .build());
+    }
+
+    @Test
+    void parallelApprovalsNeverProduceOverlappingBookings() throws Exception {
+
+        // бронирования по 3 часа со сдвигом в час: каждое пересекается с двумя соседями с каждой стороны
+        LocalDateTime base = LocalDateTime.now().plusDays(1);
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < BOOKINGS; i++) {
+            bookings.add(Booking.builder()
+                    .start(base.plusHours(i))
+                    .end(base.plusHours(i + 3))
+                    .item(item)
+                    .booker(booker)
+                    .status(BookingStatus.WAITING)
+                    .build());
+        }
+        List<Callable<Boolean>> approvals = new ArrayList<>();
+        for (Booking booking : bookingRepository.saveAll(bookings)) {
+            approvals.add(() -> {
+                try {
+                    service.approve(owner.getId(), booking.getId(), true);
+                    return true;
+                } catch (ConflictException e) {
+                    return false;
+                }
+            });
+        }
+
+        int approved = countSuccessful(approvals);
+
+        List<Booking> stored = bookingRepository.findAllByItemIdAndStatus(item.getId(), BookingStatus.APPROVED,
+                Sort.by("start"));
+        for (int i = 1; i < stored.size(); i++) {
+            assertThat(stored.get(i).getStart().isBefore(stored.get(i - 1).getEnd()), equalTo(false));
+        }
+        assertThat(stored.size(), equalTo(approved));
+        // любое максимальное непересекающееся подмножество содержит от N/5 до N/3 бронирований
+        assertThat(approved, greaterThanOrEqualTo(BOOKINGS / 5));
+        assertThat(approved, lessThanOrEqualTo(BOOKINGS / 3 + 1));
+    }
+
+    @Test
+    void concurrentDecisionsOnSameBookingHaveSingleWinner() throws Exception {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        Booking booking = bookingRepository.save(Booking.builder()
+                .start(start)
+                .end(start.plusDays(1))
+                .item(item)
+                .booker(booker)
+                .status(BookingStatus.WAITING)
+                .build());
+
+        List<Callable<Boolean>> decisions = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            boolean approve = i % 2 == 0;
+            decisions.add(() -> {
+                try {
+                    service.approve(owner.getId(), booking.getId(), approve);
+                    return true;
+                } catch (ConflictException | ValidationException e) {
+                    return false;
+                }
+            });
+        }
+
+        assertThat(countSuccessful(decisions), equalTo(1));
+        Booking stored = bookingRepository.findById(booking.getId()).orElseThrow();
+        assertThat(stored.getStatus(), not(equalTo(BookingStatus.WAITING)));
+        assertThat(stored.getVersion(), equalTo(1L));
+    }
+
+    private static int countSuccessful(List<Callable<Boolean>> tasks) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        int successful = 0;
+        try {
+            for (Future<Boolean> result : executor.invokeAll(tasks)) {
+                if (result.get()) {
+                    successful++;
+                }
+            }
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+        return successful;
+    }
+}
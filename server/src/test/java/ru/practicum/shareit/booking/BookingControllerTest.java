@@ -5,15 +5,32 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ru.practicum.shareit.booking.dto.BookingBatchRequestDto;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.user.CurrentUser;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = BookingController.class)
@@ -25,6 +42,9 @@ class BookingControllerTest {
     @MockBean
     private BookingService bookingService;
 
+    @MockBean
+    private CurrentUser currentUser;
+
     @Autowired
     private MockMvc mvc;
 
@@ -37,7 +57,7 @@ class BookingControllerTest {
                 .status(BookingStatus.WAITING)
                 .build();
 
-        when(bookingService.getAllByBooker(anyLong(), any()))
+        when(bookingService.getAllByBooker(anyLong(), any(), anyInt(), anyInt()))
                 .thenReturn(List.of(bookingDto));
 
         mvc.perform(get("/bookings")
@@ -45,4 +65,78 @@ class BookingControllerTest {
                         .param("state", "ALL"))
                 .andExpect(status().isOk());
     }
-}
\ No newline at end of file
+
+    @Test
+    void approveAllReturnsResultPerBooking() throws Exception {
+        BookingBatchRequestDto request = BookingBatchRequestDto.builder()
+                .bookingIds(List.of(1L, 2L))
+                .approved(true)
+                .build();
+
+        when(bookingService.approveAll(anyLong(), any()))
+                .thenReturn(List.of(
+                        BookingBatchResultDto.builder().bookingId(1L).success(true).status(BookingStatus.APPROVED).build(),
+                        BookingBatchResultDto.builder().bookingId(2L).success(false).error("Статус уже изменен").build()));
+
+        mvc.perform(patch("/bookings/batch")
+                        .header("X-Sharer-User-Id", 1L)
+                        .content(mapper.writeValueAsString(request))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].success").value(true))
+                .andExpect(jsonPath("$[0].status").value("APPROVED"))
+                .andExpect(jsonPath("$[1].success").value(false))
+                .andExpect(jsonPath("$[1].error").value("Статус уже изменен"));
+    }
+
+    @Test
+    void approveAllRejectsEmptyList() throws Exception {
+        BookingBatchRequestDto request = BookingBatchRequestDto.builder()
+                .bookingIds(List.of())
+                .approved(true)
+                .build();
+
+        mvc.perform(patch("/bookings/batch")
+                        .header("X-Sharer-User-Id", 1L)
+                        .content(mapper.writeValueAsString(request))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void exportByOwnerWritesBookingPerLine() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<BookingDto> consumer = invocation.getArgument(1);
+            consumer.accept(BookingDto.builder().id(1L).status(BookingStatus.APPROVED).build());
+            consumer.accept(BookingDto.builder().id(2L).status(BookingStatus.WAITING).build());
+            return null;
+        }).when(bookingService).exportByOwner(anyLong(), any(Consumer.class));
+
+        MvcResult result = mvc.perform(get("/bookings/owner/export")
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String[] lines = mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString().split("\n");
+        assertThat(lines.length, equalTo(2));
+        assertThat(mapper.readValue(lines[1], BookingDto.class).getId(),
+                equalTo(2L));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void exportByBookerReturnsNotFoundBeforeStreaming() throws Exception {
+        when(currentUser.get(99L)).thenThrow(new NotFoundException("Пользователь с id=99 не найден"));
+
+        mvc.perform(get("/bookings/export")
+                        .header("X-Sharer-User-Id", 99L))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error").value("Пользователь с id=99 не найден"));
+        verify(bookingService, never()).exportByBooker(anyLong(), any(Consumer.class));
+    }
+}
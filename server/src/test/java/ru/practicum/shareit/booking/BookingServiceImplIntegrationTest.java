@@ -0,0 +1,189 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingBatchRequestDto;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.hasProperty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.notNullValue;
+
+@Transactional
+@SpringBootTest(
+        properties = "spring.jpa.properties.hibernate.generate_statistics=true",
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class BookingServiceImplIntegrationTest {
+
+    private final EntityManager em;
+    private final EntityManagerFactory emf;
+    private final BookingService service;
+
+    private User owner;
+    private User booker;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        owner = persistUser("Daniel", "owner_stats@mail.com");
+        booker = persistUser("Booker", "booker_stats@mail.com");
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        for (int i = 0; i < 5; i++) {
+            Item item = Item.builder()
+                    .name("Вещь " + i)
+                    .description("Описание " + i)
+                    .available(true)
+                    .owner(owner)
+                    .build();
+            em.persist(item);
+            em.persist(Booking.builder()
+                    .start(start.plusDays(i))
+                    .end(start.plusDays(i + 1))
+                    .item(item)
+                    .booker(booker)
+                    .status(BookingStatus.WAITING)
+                    .build());
+        }
+        em.flush();
+        em.clear();
+
+        statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void getAllByBookerLoadsPageInSingleStatement() {
+        List<BookingDto> bookings = service.getAllByBooker(booker.getId(), "ALL", 0, 10);
+
+        assertThat(bookings, hasSize(5));
+        assertThat(bookings, everyItem(hasProperty("item", notNullValue())));
+        assertThat(bookings.get(0).getBooker().getName(), equalTo("Booker"));
+        // одна выборка пользователя и одна выборка страницы бронирований
+        assertThat(statistics.getPrepareStatementCount(), equalTo(2L));
+    }
+
+    @Test
+    void getAllByOwnerLoadsPageInSingleStatement() {
+        List<BookingDto> bookings = service.getAllByOwner(owner.getId(), "FUTURE", 0, 10);
+
+        assertThat(bookings, hasSize(5));
+        assertThat(bookings.get(0).getItem().getName(), equalTo("Вещь 4"));
+        assertThat(bookings, everyItem(hasProperty("state", equalTo(BookingState.FUTURE))));
+        assertThat(statistics.getPrepareStatementCount(), equalTo(2L));
+    }
+
+    @Test
+    void getAllByBookerPagesByOffset() {
+        List<BookingDto> bookings = service.getAllByBooker(booker.getId(), "ALL", 3, 10);
+
+        assertThat(bookings, hasSize(2));
+        assertThat(bookings.get(0).getItem().getName(), equalTo("Вещь 1"));
+        assertThat(bookings.get(1).getItem().getName(), equalTo("Вещь 0"));
+        assertThrows(ValidationException.class, () -> service.getAllByBooker(booker.getId(), "ALL", 0, 0));
+        assertThrows(ValidationException.class, () -> service.getAllByOwner(owner.getId(), "ALL", -1, 10));
+    }
+
+    @Test
+    void countByBookerCountsAllStatesInSingleStatement() {
+        Map<BookingState, Long> counts = service.countByBooker(booker.getId());
+
+        assertThat(counts, equalTo(Map.of(
+                BookingState.ALL, 5L,
+                BookingState.CURRENT, 0L,
+                BookingState.PAST, 0L,
+                BookingState.FUTURE, 5L,
+                BookingState.WAITING, 5L,
+                BookingState.REJECTED, 0L)));
+        assertThat(statistics.getPrepareStatementCount(), equalTo(2L));
+    }
+
+    @Test
+    void exportByOwnerStreamsWholeHistoryInSingleStatement() {
+        List<BookingDto> exported = new ArrayList<>();
+
+        service.exportByOwner(owner.getId(), exported::add);
+
+        assertThat(exported, hasSize(5));
+        assertThat(exported.get(0).getItem().getName(), equalTo("Вещь 4"));
+        assertThat(exported.get(4).getItem().getName(), equalTo("Вещь 0"));
+        assertThat(exported.get(0).getBooker().getName(), equalTo("Booker"));
+        assertThat(statistics.getPrepareStatementCount(), equalTo(2L));
+    }
+
+    @Test
+    void approveAllReportsOutcomePerBooking() {
+        User stranger = persistUser("Stranger", "stranger_stats@mail.com");
+        Item foreignItem = Item.builder()
+                .name("Чужая вещь")
+                .description("Описание")
+                .available(true)
+                .owner(stranger)
+                .build();
+        em.persist(foreignItem);
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        Booking foreign = Booking.builder()
+                .start(start)
+                .end(start.plusDays(1))
+                .item(foreignItem)
+                .booker(booker)
+                .status(BookingStatus.WAITING)
+                .build();
+        em.persist(foreign);
+        em.flush();
+        List<Long> own = em.createQuery("select b.id from Booking b where b.item.owner.id = :owner order by b.id",
+                        Long.class)
+                .setParameter("owner", owner.getId())
+                .getResultList();
+        em.clear();
+
+        List<Long> ids = List.of(own.get(0), own.get(1), foreign.getId(), -1L, own.get(0));
+        List<BookingBatchResultDto> results = service.approveAll(owner.getId(), BookingBatchRequestDto.builder()
+                .bookingIds(ids)
+                .approved(true)
+                .build());
+
+        assertThat(results, hasSize(4));
+        assertThat(results.get(0).getSuccess(), equalTo(true));
+        assertThat(results.get(0).getStatus(), equalTo(BookingStatus.APPROVED));
+        assertThat(results.get(1).getSuccess(), equalTo(true));
+        assertThat(results.get(2).getSuccess(), equalTo(false));
+        assertThat(results.get(3).getSuccess(), equalTo(false));
+        em.clear();
+        assertThat(em.find(Booking.class, own.get(0)).getStatus(), equalTo(BookingStatus.APPROVED));
+        assertThat(em.find(Booking.class, foreign.getId()).getStatus(), equalTo(BookingStatus.WAITING));
+
+        List<BookingBatchResultDto> repeated = service.approveAll(owner.getId(), BookingBatchRequestDto.builder()
+                .bookingIds(List.of(own.get(0)))
+                .approved(false)
+                .build());
+        assertThat(repeated.get(0).getError(), equalTo("Статус уже изменен"));
+    }
+
+    private User persistUser(String name, String email) {
+        User user = User.builder().name(name).email(email).build();
+        em.persist(user);
+        return user;
+    }
+}
@@ -0,0 +1,72 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ItemBookingTimelineTest {
+
+    private final LocalDateTime now = LocalDateTime.now();
+    private ItemBookingTimeline timeline;
+
+    @BeforeEach
+    void setUp() {
+        BookingRepository bookingRepository = mock(BookingRepository.class);
+        when(bookingRepository.findTop1000ByStatusNotAndIdGreaterThanOrderByIdAsc(any(), anyLong()))
+                .thenReturn(List.of(
+                        booking(1L, now.minusDays(3), 10L),
+                        booking(2L, now.minusDays(1), 11L),
+                        booking(3L, now.plusDays(2), 12L)));
+        timeline = new ItemBookingTimeline(bookingRepository);
+        timeline.rebuild();
+    }
+
+    @Test
+    void returnsClosestBookingsAroundNow() {
+        assertThat(timeline.getLast(1L, now)).isEqualTo(new ItemDto.BookingShortDto(2L, 11L));
+        assertThat(timeline.getNext(1L, now)).isEqualTo(new ItemDto.BookingShortDto(3L, 12L));
+        assertThat(timeline.getLast(2L, now)).isNull();
+    }
+
+    @Test
+    void tracksCreatedAndRejectedBookings() {
+        timeline.add(booking(4L, now.plusDays(1), 13L));
+        assertThat(timeline.getNext(1L, now)).isEqualTo(new ItemDto.BookingShortDto(4L, 13L));
+
+        timeline.remove(booking(4L, now.plusDays(1), 13L));
+        assertThat(timeline.getNext(1L, now)).isEqualTo(new ItemDto.BookingShortDto(3L, 12L));
+
+        timeline.removeBooker(11L);
+        assertThat(timeline.getLast(1L, now)).isEqualTo(new ItemDto.BookingShortDto(1L, 10L));
+    }
+
+    @Test
+    void removeItemsDropsTheirTimelines() {
+        timeline.removeItems(List.of(1L));
+
+        assertThat(timeline.getLast(1L, now)).isNull();
+        assertThat(timeline.getNext(1L, now)).isNull();
+    }
+
+    private static Booking booking(Long id, LocalDateTime start, Long bookerId) {
+        return Booking.builder()
+                .id(id)
+                .start(start)
+                .end(start.plusHours(1))
+                .item(Item.builder().id(1L).build())
+                .booker(User.builder().id(bookerId).build())
+                .status(BookingStatus.WAITING)
+                .build();
+    }
+}
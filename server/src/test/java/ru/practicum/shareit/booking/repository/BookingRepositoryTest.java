@@ -0,0 +1,131 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.BookingWithState;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+class BookingRepositoryTest {
+
+    private static final Sort SORT = Sort.by(Sort.Direction.DESC, "start", "id");
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private User owner;
+    private User booker;
+    private Booking first;
+    private Booking second;
+    private Booking third;
+
+    @BeforeEach
+    void setUp() {
+        owner = em.persist(User.builder().name("Daniel").email("owner@mail.com").build());
+        booker = em.persist(User.builder().name("Booker").email("booker@mail.com").build());
+        Item item = em.persist(Item.builder()
+                .name("Дрель")
+                .description("Ударная")
+                .available(true)
+                .owner(owner)
+                .build());
+
+        LocalDateTime now = LocalDateTime.now();
+        first = em.persist(booking(item, now.plusDays(1)));
+        second = em.persist(booking(item, now.plusDays(2)));
+        third = em.persist(booking(item, now.plusDays(3)));
+    }
+
+    @Test
+    void findAllByBookerIdAndStateReturnsRequestedSliceOnly() {
+        Slice<BookingWithState> page = bookingRepository.findAllByBookerIdAndState(booker.getId(), "ALL",
+                LocalDateTime.now(), PageRequest.of(0, 2, SORT));
+
+        assertThat(page.getContent()).extracting(b -> b.getBooking().getId())
+                .containsExactly(third.getId(), second.getId());
+        assertThat(page.hasNext()).isTrue();
+
+        Slice<BookingWithState> next = bookingRepository.findAllByBookerIdAndState(booker.getId(), "ALL",
+                LocalDateTime.now(), PageRequest.of(1, 2, SORT));
+
+        assertThat(next.getContent()).extracting(b -> b.getBooking().getId()).containsExactly(first.getId());
+        assertThat(next.hasNext()).isFalse();
+    }
+
+    @Test
+    void findAllByItemOwnerIdAndStateReturnsRequestedSliceOnly() {
+        Slice<BookingWithState> page = bookingRepository.findAllByItemOwnerIdAndState(owner.getId(), "WAITING",
+                LocalDateTime.now(), PageRequest.of(0, 1, SORT));
+
+        assertThat(page.getContent()).extracting(b -> b.getBooking().getId()).containsExactly(third.getId());
+        assertThat(page.hasNext()).isTrue();
+    }
+
+    @Test
+    void findAllByBookerIdAndStateTagsTimeState() {
+        LocalDateTime now = LocalDateTime.now();
+        first.setStart(now.minusDays(2));
+        first.setEnd(now.minusDays(1));
+        second.setStart(now.minusHours(1));
+        em.flush();
+
+        assertThat(bookingRepository.findAllByBookerIdAndState(booker.getId(), "ALL", now,
+                PageRequest.of(0, 10, SORT)).getContent())
+                .extracting(BookingWithState::getState)
+                .containsExactly(BookingState.FUTURE, BookingState.CURRENT, BookingState.PAST);
+        assertThat(bookingRepository.findAllByBookerIdAndState(booker.getId(), "CURRENT", now,
+                PageRequest.of(0, 10, SORT)).getContent())
+                .extracting(b -> b.getBooking().getId())
+                .containsExactly(second.getId());
+        assertThat(bookingRepository.countByItemOwnerId(owner.getId(), now).toMap())
+                .containsEntry(BookingState.ALL, 3L)
+                .containsEntry(BookingState.PAST, 1L)
+                .containsEntry(BookingState.CURRENT, 1L)
+                .containsEntry(BookingState.FUTURE, 1L)
+                .containsEntry(BookingState.WAITING, 3L);
+    }
+
+    @Test
+    void updateWaitingStatusAppliesOnlyToExpectedVersion() {
+        em.flush();
+
+        assertThat(bookingRepository.updateWaitingStatus(first.getId(), first.getVersion() + 1,
+                BookingStatus.APPROVED)).isZero();
+        assertThat(bookingRepository.updateWaitingStatus(first.getId(), first.getVersion(),
+                BookingStatus.APPROVED)).isEqualTo(1);
+        assertThat(bookingRepository.updateWaitingStatus(first.getId(), first.getVersion() + 1,
+                BookingStatus.REJECTED)).isZero();
+
+        Booking stored = bookingRepository.findById(first.getId()).orElseThrow();
+        assertThat(stored.getStatus()).isEqualTo(BookingStatus.APPROVED);
+        assertThat(stored.getVersion()).isEqualTo(first.getVersion() + 1);
+    }
+
+    private Booking booking(Item item, LocalDateTime start) {
+        return Booking.builder()
+                .start(start)
+                .end(start.plusHours(1))
+                .item(item)
+                .booker(booker)
+                .status(BookingStatus.WAITING)
+                .build();
+    }
+}
@@ -10,11 +10,10 @@ import ru.practicum.shareit.booking.BookingServiceImpl;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.ItemRepository;
-import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.ItemSummaryService;
+import ru.practicum.shareit.item.dto.ItemSummary;
+import ru.practicum.shareit.user.CurrentUser;
 import ru.practicum.shareit.user.User;
-import ru.practicum.shareit.user.UserRepository;
-
-import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.anyLong;
@@ -28,7 +27,9 @@ class BookingServiceImplTest {
     @Mock
     private ItemRepository itemRepository;
     @Mock
-    private UserRepository userRepository;
+    private ItemSummaryService itemSummaryService;
+    @Mock
+    private CurrentUser currentUser;
 
     @InjectMocks
     private BookingServiceImpl bookingService;
@@ -36,13 +37,13 @@ class BookingServiceImplTest {
     @Test
     void create_whenItemNotAvailable_thenThrowValidationException() {
         Long userId = 2L;
-        Item item = Item.builder().id(1L).available(false).build();
+        ItemSummary item = ItemSummary.builder().id(1L).available(false).ownerId(1L).build();
         User user = User.builder().id(userId).build();
         BookingDto dto = new BookingDto();
         dto.setItemId(1L);
 
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-        when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
+        when(currentUser.getReference(userId)).thenReturn(user);
+        when(itemSummaryService.getSummary(anyLong())).thenReturn(item);
 
         assertThrows(ValidationException.class, () ->
                 bookingService.create(userId, dto)
@@ -0,0 +1,115 @@
+package ru.practicum.shareit.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "shareit.datasource.replica.url=" + ReplicaRoutingIntegrationTest.REPLICA_URL,
+        "shareit.datasource.replica.sticky-window=1m",
+        "shareit.search.engine=like"
+})
+class ReplicaRoutingIntegrationTest {
+    static final String REPLICA_URL = "jdbc:h2:mem:shareit-replica;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    @BeforeAll
+    static void createReplicaSchema() throws Exception {
+        try (Connection connection = DriverManager.getConnection(REPLICA_URL, "shareit", "shareit")) {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("schema.sql"));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        new JdbcTemplate(primaryDataSource).update("DELETE FROM items");
+        new JdbcTemplate(replicaDataSource).update("DELETE FROM items");
+        new JdbcTemplate(primaryDataSource).update("DELETE FROM users");
+        new JdbcTemplate(replicaDataSource).update("DELETE FROM users");
+    }
+
+    @Test
+    void readOnlyTransactionsReadFromReplicaAndWritesGoToPrimary() {
+        new JdbcTemplate(replicaDataSource).update(
+                "INSERT INTO users (name, email) VALUES ('Replica', 'replica@mail.com')");
+
+        userService.create(UserDto.builder().name("Primary").email("primary@mail.com").build());
+
+        assertThat(emails(userService.findAll())).containsExactly("replica@mail.com");
+    }
+
+    @Test
+    void userReadsOwnWritesFromPrimaryWithinStickyWindow() {
+        UserDto writer = userService.create(UserDto.builder().name("Writer").email("writer@mail.com").build());
+
+        actAs(writer.getId());
+        userService.update(writer.getId(), UserDto.builder().name("Renamed").build());
+        assertThat(emails(userService.findAll())).containsExactly("writer@mail.com");
+
+        actAs(writer.getId() + 1);
+        assertThat(userService.findAll()).isEmpty();
+    }
+
+    @Test
+    void cachedLookupReadsFromPrimary() {
+        UserDto user = userService.create(UserDto.builder().name("Cached").email("cached@mail.com").build());
+
+        assertThat(userService.getById(user.getId()).getEmail()).isEqualTo("cached@mail.com");
+    }
+
+    @Test
+    void cachedSearchReadsFromPrimary() {
+        UserDto owner = userService.create(UserDto.builder().name("Owner").email("search@mail.com").build());
+        ItemDto item = itemService.create(owner.getId(), ItemDto.builder()
+                .name("Дрель")
+                .description("Ударная")
+                .available(true)
+                .build());
+
+        assertThat(itemService.search("дрель", 0, 10)).extracting(ItemDto::getId).containsExactly(item.getId());
+    }
+
+    private static void actAs(Long userId) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(ReplicaRoutingDataSource.USER_ID_HEADER, userId);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    private static List<String> emails(List<UserDto> users) {
+        return users.stream().map(UserDto::getEmail).toList();
+    }
+}
@@ -0,0 +1,87 @@
+package ru.practicum.shareit.event;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.event.dto.BookingEventDto;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class EventLogPublisherIntegrationTest {
+
+    private final UserService userService;
+    private final ItemService itemService;
+    private final BookingService bookingService;
+    private final BookingOutbox outbox;
+    private final EventLogPublisher publisher;
+    private final EventLog eventLog;
+    private final ObjectMapper objectMapper;
+
+    private final List<Long> userIds = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        userIds.forEach(userService::delete);
+    }
+
+    @Test
+    void publishesCommittedBookingEventsToLog() throws IOException {
+        // outbox переживает пересоздание схемы другими контекстами: старые события переносятся заранее
+        publisher.publishPending();
+        Long ownerId = createUser("owner_events@mail.com");
+        Long bookerId = createUser("booker_events@mail.com");
+        ItemDto item = itemService.create(ownerId, ItemDto.builder()
+                .name("Дрель")
+                .description("Ударная")
+                .available(true)
+                .build());
+        BookingDto booking = new BookingDto();
+        booking.setItemId(item.getId());
+        booking.setStart(LocalDateTime.now().plusDays(1));
+        booking.setEnd(LocalDateTime.now().plusDays(2));
+        Long bookingId = bookingService.create(bookerId, booking).getId();
+        bookingService.approve(ownerId, bookingId, true);
+        long endOffset = eventLog.getEndOffset();
+
+        publisher.publishPending();
+
+        assertThat(outbox.findOldest(1)).isEmpty();
+        List<BookingEventDto> events = new ArrayList<>();
+        for (EventLog.Record record : eventLog.read(endOffset, 10_000)) {
+            BookingEventDto event = objectMapper.readValue(record.getPayload(), BookingEventDto.class);
+            if (event.getBookingId().equals(bookingId)) {
+                events.add(event);
+            }
+        }
+        assertThat(events).extracting(BookingEventDto::getType)
+                .containsExactly(BookingEventType.CREATED, BookingEventType.APPROVED);
+        assertThat(events).extracting(BookingEventDto::getStatus)
+                .containsExactly(BookingStatus.WAITING, BookingStatus.APPROVED);
+        assertThat(events.getLast().getItemId()).isEqualTo(item.getId());
+        assertThat(events.getLast().getBookerId()).isEqualTo(bookerId);
+        assertThat(events).extracting(BookingEventDto::getEventId).doesNotHaveDuplicates().doesNotContainNull();
+    }
+
+    private Long createUser(String email) {
+        Long id = userService.create(UserDto.builder().name("User").email(email).build()).getId();
+        userIds.add(id);
+        return id;
+    }
+}
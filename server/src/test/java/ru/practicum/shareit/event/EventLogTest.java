@@ -0,0 +1,113 @@
+package ru.practicum.shareit.event;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EventLogTest {
+    private static final int SEGMENT_SIZE = 1024;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void readsAppendedRecordsFromAnyOffset() throws IOException {
+        try (EventLog log = new EventLog(dir, SEGMENT_SIZE)) {
+            assertThat(log.append(payloads(0, 100))).isEqualTo(0L);
+            assertThat(log.append(payloads(100, 50))).isEqualTo(100L);
+
+            List<EventLog.Record> records = log.read(70, 40);
+
+            assertThat(records).hasSize(40);
+            assertThat(records.getFirst().getOffset()).isEqualTo(70L);
+            assertThat(text(records.getFirst())).isEqualTo("event-70");
+            assertThat(text(records.getLast())).isEqualTo("event-109");
+            assertThat(log.read(150, 10)).isEmpty();
+        }
+    }
+
+    @Test
+    void rollsSegmentWhenFull() throws IOException {
+        try (EventLog log = new EventLog(dir, SEGMENT_SIZE)) {
+            log.append(payloads(0, 200));
+
+            assertThat(segmentFiles()).hasSizeGreaterThan(1);
+            List<EventLog.Record> records = log.read(0, 1000);
+            assertThat(records).hasSize(200);
+            assertThat(text(records.get(199))).isEqualTo("event-199");
+        }
+    }
+
+    @Test
+    void recoversRecordsAfterReopen() throws IOException {
+        try (EventLog log = new EventLog(dir, SEGMENT_SIZE)) {
+            log.append(payloads(0, 200));
+        }
+        try (EventLog log = new EventLog(dir, SEGMENT_SIZE)) {
+            assertThat(log.getStartOffset()).isEqualTo(0L);
+            assertThat(log.getEndOffset()).isEqualTo(200L);
+            assertThat(log.append(payloads(200, 1))).isEqualTo(200L);
+            assertThat(text(log.read(200, 1).getFirst())).isEqualTo("event-200");
+        }
+    }
+
+    @Test
+    void dropsTornRecordOnRecovery() throws IOException {
+        try (EventLog log = new EventLog(dir, SEGMENT_SIZE)) {
+            log.append(payloads(0, 2));
+        }
+        // запись оборвана после длины: данные не совпадают с CRC
+        Path segment = segmentFiles().getFirst();
+        int secondRecord = 8 + "event-0".length();
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{0}), secondRecord + 8);
+        }
+
+        try (EventLog log = new EventLog(dir, SEGMENT_SIZE)) {
+            assertThat(log.getEndOffset()).isEqualTo(1L);
+            log.append(payloads(1, 1));
+            assertThat(text(log.read(1, 1).getFirst())).isEqualTo("event-1");
+        }
+    }
+
+    @Test
+    void rejectsOffsetOutsideLogAndSecondWriter() throws IOException {
+        try (EventLog log = new EventLog(dir, SEGMENT_SIZE)) {
+            log.append(payloads(0, 3));
+
+            assertThatThrownBy(() -> log.read(4, 1)).isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> new EventLog(dir, SEGMENT_SIZE)).isInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(file -> file.toString().endsWith(".log")).sorted().toList();
+        }
+    }
+
+    private static List<byte[]> payloads(int from, int count) {
+        List<byte[]> payloads = new ArrayList<>();
+        for (int i = from; i < from + count; i++) {
+            payloads.add(("event-" + i).getBytes(StandardCharsets.UTF_8));
+        }
+        return payloads;
+    }
+
+    private static String text(EventLog.Record record) {
+        return new String(record.getPayload(), StandardCharsets.UTF_8);
+    }
+}
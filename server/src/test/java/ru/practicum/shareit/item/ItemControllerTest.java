@@ -7,11 +7,14 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
 import java.nio.charset.StandardCharsets;
+import java.util.List;
 
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -64,4 +67,18 @@ class ItemControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.name").value("Вещь"));
     }
+
+    @Test
+    void getCommentsPassesKeysetCursor() throws Exception {
+        when(itemService.getComments(1L, 10L, 5))
+                .thenReturn(List.of(CommentDto.builder().id(9L).text("Отлично").build()));
+
+        mvc.perform(get("/items/1/comments")
+                        .param("beforeId", "10")
+                        .param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(9L));
+
+        verify(itemService).getComments(1L, 10L, 5);
+    }
 }
\ No newline at end of file
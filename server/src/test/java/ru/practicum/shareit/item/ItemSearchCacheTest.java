@@ -0,0 +1,87 @@
+package ru.practicum.shareit.item;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ItemSearchCacheTest {
+    private static final Pageable PAGE = PageRequest.of(0, 10);
+
+    private final AtomicInteger searches = new AtomicInteger();
+    private ItemSearchCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ItemSearchCache(100, Duration.ofMinutes(10), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void normalizedQueryIsServedFromCache() {
+        assertThat(search("  ДРЕЛЬ ")).containsExactly(1L, 2L);
+        assertThat(search("дрель")).containsExactly(1L, 2L);
+
+        assertThat(searches).hasValue(1);
+    }
+
+    @Test
+    void changeEvictsOnlyQueriesMatchingItem() {
+        search("дрель");
+        search("ноут");
+        search("ударная дрель");
+
+        cache.invalidate(null, item("Дрель", "Ударная, для бетона", true));
+        search("дрель");
+        search("ноут");
+        search("ударная дрель");
+
+        assertThat(searches).hasValue(5);
+    }
+
+    @Test
+    void unavailableItemEvictsOnlyByPreviousState() {
+        search("дрель");
+        search("перфоратор");
+
+        cache.invalidate(item("Дрель", "Ударная", true), item("Перфоратор", "Ударный", false));
+        search("дрель");
+        search("перфоратор");
+
+        assertThat(searches).hasValue(3);
+    }
+
+    @Test
+    void resultOfSearchOverlappingInvalidationIsNotCached() {
+        cache.get("дрель", PAGE, () -> {
+            searches.incrementAndGet();
+            cache.invalidate(null, item("Ноутбук", "Лёгкий", true));
+            return List.of(1L);
+        });
+        search("дрель");
+
+        assertThat(searches).hasValue(2);
+    }
+
+    private List<Long> search(String text) {
+        return cache.get(ItemSearchCache.normalize(text), PAGE, () -> {
+            searches.incrementAndGet();
+            return List.of(1L, 2L);
+        });
+    }
+
+    private static Item item(String name, String description, boolean available) {
+        return Item.builder()
+                .name(name)
+                .description(description)
+                .available(available)
+                .build();
+    }
+}
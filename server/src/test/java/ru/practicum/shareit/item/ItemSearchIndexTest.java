@@ -0,0 +1,82 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.util.OffsetPageRequest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ItemSearchIndexTest {
+
+    private static final Pageable PAGE = PageRequest.of(0, 10);
+
+    private ItemSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        ItemRepository itemRepository = mock(ItemRepository.class);
+        when(itemRepository.findTop1000ByAvailableTrueAndIdGreaterThanOrderByIdAsc(anyLong()))
+                .thenReturn(List.of(item(1L, "Ноутбук", "Мощный игровой ноут", true)));
+        index = new ItemSearchIndex(itemRepository);
+        index.rebuild();
+    }
+
+    @Test
+    void searchIsCaseInsensitiveOverNameAndDescription() {
+        index.index(item(2L, "Дрель", "Ударная, для бетона", true));
+
+        assertThat(index.search("нОуТ", PAGE)).containsExactly(1L);
+        assertThat(index.search("БЕТОН", PAGE)).containsExactly(2L);
+        assertThat(index.search("о", PAGE)).containsExactly(1L, 2L);
+        assertThat(index.search("ноутбук дрель", PAGE)).isEmpty();
+    }
+
+    @Test
+    void searchRanksNameMatchesFirstAndPages() {
+        index.index(item(2L, "Зарядка", "Для ноутбука", true));
+        index.index(item(3L, "Ноутбук рабочий", "Тихий", true));
+
+        assertThat(index.search("ноут", PAGE)).containsExactly(1L, 3L, 2L);
+        assertThat(index.search("ноут", PageRequest.of(1, 2))).containsExactly(2L);
+        assertThat(index.search("ноут", OffsetPageRequest.of(1, 2))).containsExactly(3L, 2L);
+    }
+
+    @Test
+    void updateReplacesIndexedTextAndAvailability() {
+        index.index(item(1L, "Планшет", "Лёгкий", true));
+
+        assertThat(index.search("ноут", PAGE)).isEmpty();
+        assertThat(index.search("планш", PAGE)).containsExactly(1L);
+
+        index.index(item(1L, "Планшет", "Лёгкий", false));
+
+        assertThat(index.search("планш", PAGE)).isEmpty();
+    }
+
+    @Test
+    void removedItemsNoLongerTakePageSlots() {
+        index.index(item(2L, "Ноутбук старый", "", true));
+        index.index(item(3L, "Ноутбук новый", "", true));
+
+        index.remove(List.of(1L, 2L));
+
+        assertThat(index.search("ноут", PageRequest.of(0, 1))).containsExactly(3L);
+    }
+
+    private static Item item(Long id, String name, String description, boolean available) {
+        return Item.builder()
+                .id(id)
+                .name(name)
+                .description(description)
+                .available(available)
+                .build();
+    }
+}
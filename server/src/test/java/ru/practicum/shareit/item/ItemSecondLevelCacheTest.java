@@ -0,0 +1,89 @@
+package ru.practicum.shareit.item;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class ItemSecondLevelCacheTest {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final ItemRepository itemRepository;
+    private final ItemService itemService;
+    private final UserService userService;
+    private final MeterRegistry meterRegistry;
+
+    private Statistics statistics;
+    private UserDto owner;
+    private ItemDto item;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        owner = userService.create(UserDto.builder().name("Owner").email("cache-owner@mail.com").build());
+        item = itemService.create(owner.getId(),
+                ItemDto.builder().name("Дрель").description("Ударная").available(true).build());
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userService.findAll().stream()
+                .filter(user -> user.getId().equals(owner.getId()))
+                .forEach(user -> userService.delete(user.getId()));
+    }
+
+    @Test
+    void findByIdIsServedFromCache() {
+        itemRepository.findById(item.getId());
+        statistics.clear();
+
+        assertThat(itemRepository.findById(item.getId())).isPresent();
+
+        CacheRegionStatistics region = statistics.getDomainDataRegionStatistics(Item.CACHE_REGION);
+        assertThat(region.getHitCount()).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(meterRegistry.find("hibernate.second.level.cache.requests")
+                .tags("region", Item.CACHE_REGION, "result", "hit")
+                .functionCounter()).isNotNull();
+    }
+
+    @Test
+    void ownerItemsQueryIsCachedAndInvalidatedByUpdate() {
+        itemRepository.findAllByOwnerId(owner.getId());
+        assertThat(itemRepository.findAllByOwnerId(owner.getId())).hasSize(1);
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+
+        itemService.update(owner.getId(), item.getId(), ItemDto.builder().name("Перфоратор").build());
+
+        assertThat(itemRepository.findAllByOwnerId(owner.getId()))
+                .extracting(Item::getName)
+                .containsExactly("Перфоратор");
+    }
+
+    @Test
+    void ownerDeletionEvictsCascadedItems() {
+        itemRepository.findById(item.getId());
+        itemRepository.findAllByOwnerId(owner.getId());
+
+        userService.delete(owner.getId());
+
+        assertThat(itemRepository.findById(item.getId())).isEmpty();
+        assertThat(itemRepository.findAllByOwnerId(owner.getId())).isEmpty();
+    }
+}
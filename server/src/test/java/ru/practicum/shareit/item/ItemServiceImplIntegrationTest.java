@@ -6,10 +6,16 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.OwnerSummaryDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.User;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -58,4 +64,81 @@ public class ItemServiceImplIntegrationTest {
         assertThat(items.get(0).getName(), equalTo("Ноутбук"));
         assertThat(items.get(1).getName(), equalTo("Телефон"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void itemsCarryCommentCountAndLatestComments() {
+        User owner = User.builder().name("Owner").email("owner@mail.com").build();
+        User author = User.builder().name("Author").email("author@mail.com").build();
+        em.persist(owner);
+        em.persist(author);
+        Item item = Item.builder().name("Дрель").description("Ударная").available(true).owner(owner).build();
+        em.persist(item);
+        em.persist(Booking.builder()
+                .item(item)
+                .booker(author)
+                .start(LocalDateTime.now().minusDays(2))
+                .end(LocalDateTime.now().minusDays(1))
+                .status(BookingStatus.APPROVED)
+                .build());
+        em.flush();
+
+        for (int i = 1; i <= 5; i++) {
+            service.createComment(author.getId(), item.getId(), CommentDto.builder().text("Отзыв " + i).build());
+        }
+        em.flush();
+        em.clear();
+
+        ItemDto dto = service.getByOwner(owner.getId()).get(0);
+
+        assertThat(dto.getCommentCount(), equalTo(5));
+        assertThat(dto.getComments().stream().map(CommentDto::getText).toList(),
+                contains("Отзыв 5", "Отзыв 4", "Отзыв 3"));
+
+        List<CommentDto> nextPage = service.getComments(item.getId(), dto.getComments().get(2).getId(), 10);
+        assertThat(nextPage.stream().map(CommentDto::getText).toList(), contains("Отзыв 2", "Отзыв 1"));
+    }
+
+    @Test
+    void ownerSummaryAggregatesBookingsPerItem() {
+        User owner = User.builder().name("Owner").email("summary-owner@mail.com").build();
+        User booker = User.builder().name("Booker").email("summary-booker@mail.com").build();
+        em.persist(owner);
+        em.persist(booker);
+        Item drill = Item.builder().name("Дрель").description("Ударная").available(true).owner(owner).build();
+        Item saw = Item.builder().name("Пила").description("Цепная").available(false).owner(owner).build();
+        em.persist(drill);
+        em.persist(saw);
+        LocalDateTime now = LocalDateTime.now();
+        persistBooking(drill, booker, now.minusDays(3), now.minusDays(2), BookingStatus.APPROVED);
+        Booking current = persistBooking(drill, booker, now.minusDays(1), now.plusDays(1), BookingStatus.APPROVED);
+        persistBooking(drill, booker, now.plusDays(1), now.plusDays(2), BookingStatus.REJECTED);
+        Booking next = persistBooking(drill, booker, now.plusDays(2), now.plusDays(3), BookingStatus.WAITING);
+        em.flush();
+
+        OwnerSummaryDto summary = service.getOwnerSummary(owner.getId());
+
+        assertThat(summary.getItems(), hasSize(2));
+        OwnerSummaryDto.ItemStats drillStats = summary.getItems().get(0);
+        assertThat(drillStats.getName(), equalTo("Дрель"));
+        assertThat(drillStats.getStatusCounts().get(BookingStatus.APPROVED), equalTo(2L));
+        assertThat(drillStats.getStatusCounts().get(BookingStatus.REJECTED), equalTo(1L));
+        assertThat(drillStats.getStateCounts().get(BookingState.ALL), equalTo(4L));
+        assertThat(drillStats.getStateCounts().get(BookingState.CURRENT), equalTo(1L));
+        assertThat(drillStats.getStateCounts().get(BookingState.PAST), equalTo(1L));
+        assertThat(drillStats.getStateCounts().get(BookingState.FUTURE), equalTo(2L));
+        assertThat(drillStats.getLastBooking().getId(), equalTo(current.getId()));
+        assertThat(drillStats.getNextBooking().getId(), equalTo(next.getId()));
+
+        OwnerSummaryDto.ItemStats sawStats = summary.getItems().get(1);
+        assertThat(sawStats.getStateCounts().get(BookingState.ALL), equalTo(0L));
+        assertThat(sawStats.getLastBooking(), nullValue());
+        assertThat(summary.getBookingCounts().get(BookingState.WAITING), equalTo(1L));
+    }
+
+    private Booking persistBooking(Item item, User booker, LocalDateTime start, LocalDateTime end,
+                                   BookingStatus status) {
+        Booking booking = Booking.builder().item(item).booker(booker).start(start).end(end).status(status).build();
+        em.persist(booking);
+        return booking;
+    }
+}
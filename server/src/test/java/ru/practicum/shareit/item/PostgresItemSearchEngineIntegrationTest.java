@@ -0,0 +1,130 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.util.OffsetPageRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Полнотекстовый поиск на настоящем PostgreSQL: запрос SEARCH, порядок по ts_rank, страницы и schema-postgresql.sql.
+ * Без Docker тест пропускается.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(
+        properties = {
+                ItemSearchEngine.PROPERTY + "=postgres",
+                "spring.sql.init.platform=postgresql"
+        },
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class PostgresItemSearchEngineIntegrationTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16");
+
+    private final ItemSearchEngine searchEngine;
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.driverClassName", POSTGRES::getDriverClassName);
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM users");
+    }
+
+    @Test
+    void nameMatchesRankAboveDescriptionMatches() {
+        User owner = owner("rank@mail.com");
+        Item inDescription = item(owner, "Шуруповёрт", "Заменит дрель", true);
+        Item inName = item(owner, "Дрель", "Ударная", true);
+
+        assertThat(searchEngine.search("дрель", OffsetPageRequest.of(0, 10)))
+                .containsExactly(inName.getId(), inDescription.getId());
+    }
+
+    @Test
+    void unavailableItemsAreExcluded() {
+        User owner = owner("unavailable@mail.com");
+        Item available = item(owner, "Палатка", "Двухместная", true);
+        item(owner, "Палатка", "Рваная", false);
+
+        assertThat(searchEngine.search("палат", OffsetPageRequest.of(0, 10))).containsExactly(available.getId());
+    }
+
+    @Test
+    void pagesByOffset() {
+        User owner = owner("paging@mail.com");
+        Item first = item(owner, "Лыжи", "Беговые", true);
+        Item second = item(owner, "Лыжи", "Горные", true);
+        Item third = item(owner, "Лыжи", "Детские", true);
+
+        assertThat(searchEngine.search("лыжи", OffsetPageRequest.of(0, 2)))
+                .containsExactly(first.getId(), second.getId());
+        assertThat(searchEngine.search("лыжи", OffsetPageRequest.of(1, 2)))
+                .containsExactly(second.getId(), third.getId());
+        assertThat(searchEngine.search("лыжи", OffsetPageRequest.of(3, 2))).isEmpty();
+    }
+
+    // spring.sql.init.mode=always: скрипты схемы выполняются при каждом запуске поверх уже созданной схемы.
+    // Кэш второго уровня во втором контексте выключен: JCache CacheManager общий на JVM и закрылся бы вместе с ним
+    @Test
+    void restartReappliesSchema() {
+        try (ConfigurableApplicationContext restarted = new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.driverClassName=" + POSTGRES.getDriverClassName(),
+                        "--spring.datasource.url=" + POSTGRES.getJdbcUrl(),
+                        "--spring.datasource.username=" + POSTGRES.getUsername(),
+                        "--spring.datasource.password=" + POSTGRES.getPassword(),
+                        "--spring.sql.init.platform=postgresql",
+                        "--" + ItemSearchEngine.PROPERTY + "=postgres",
+                        "--spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                        "--spring.jpa.properties.hibernate.cache.use_query_cache=false")) {
+            assertThat(restarted.isActive()).isTrue();
+        }
+
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM pg_indexes WHERE tablename = 'items' AND indexname = 'idx_items_search'",
+                Integer.class)).isEqualTo(1);
+        User owner = owner("restart@mail.com");
+        Item item = item(owner, "Котелок", "Походный", true);
+        assertThat(searchEngine.search("котел", OffsetPageRequest.of(0, 10))).containsExactly(item.getId());
+    }
+
+    private User owner(String email) {
+        return userRepository.save(User.builder().name("Owner").email(email).build());
+    }
+
+    private Item item(User owner, String name, String description, boolean available) {
+        return itemRepository.save(Item.builder()
+                .name(name)
+                .description(description)
+                .available(available)
+                .owner(owner)
+                .build());
+    }
+}
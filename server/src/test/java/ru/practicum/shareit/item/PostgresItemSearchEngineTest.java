@@ -0,0 +1,15 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PostgresItemSearchEngineTest {
+
+    @Test
+    void toTsQueryMatchesEveryWordByPrefix() {
+        assertThat(PostgresItemSearchEngine.toTsQuery("Дрель  ударная")).isEqualTo("дрель:* & ударная:*");
+        assertThat(PostgresItemSearchEngine.toTsQuery("ноут & !(x | y):*")).isEqualTo("ноут:* & x:* & y:*");
+        assertThat(PostgresItemSearchEngine.toTsQuery(" !& ")).isEmpty();
+    }
+}
@@ -4,6 +4,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.User;
@@ -33,10 +34,22 @@ class ItemRepositoryTest {
                 .owner(owner)
                 .build();
         em.persist(item);
+        Item charger = em.persist(Item.builder()
+                .name("Зарядка")
+                .description("Для ноутбука")
+                .available(true)
+                .owner(owner)
+                .build());
+        em.persist(Item.builder()
+                .name("Старый ноутбук")
+                .description("Не включается")
+                .available(false)
+                .owner(owner)
+                .build());
 
-        List<Item> result = itemRepository.search("нОуТ");
+        List<Long> result = itemRepository.search("нОуТ", PageRequest.of(0, 10));
 
-        assertThat(result).hasSize(1);
-        assertThat(result.get(0).getName()).isEqualTo("Ноутбук");
+        assertThat(result).containsExactly(item.getId(), charger.getId());
+        assertThat(itemRepository.search("нОуТ", PageRequest.of(1, 1))).containsExactly(charger.getId());
     }
 }
\ No newline at end of file
@@ -1,11 +1,15 @@
 package ru.practicum.shareit.request;
 
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.user.User;
 
@@ -16,11 +20,14 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 
 @Transactional
-@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@SpringBootTest(
+        properties = "spring.jpa.properties.hibernate.generate_statistics=true",
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
 class ItemRequestServiceImplIntegrationTest {
 
     private final EntityManager em;
+    private final EntityManagerFactory emf;
     private final ItemRequestService service;
 
     @Test
@@ -46,4 +53,53 @@ class ItemRequestServiceImplIntegrationTest {
         assertThat(results, hasSize(1));
         assertThat(results.get(0).getDescription(), containsString("монитор"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getAllRequestsStatementCountDoesNotGrowWithPageSize() {
+        User requester = User.builder()
+                .name("Daniel")
+                .email("daniel_page@mail.com")
+                .build();
+        em.persist(requester);
+        User owner = User.builder()
+                .name("Owner")
+                .email("owner_page@mail.com")
+                .build();
+        em.persist(owner);
+
+        for (int i = 0; i < 20; i++) {
+            ItemRequest request = ItemRequest.builder()
+                    .description("Запрос " + i)
+                    .requestor(requester)
+                    .created(LocalDateTime.now().minusMinutes(i))
+                    .build();
+            em.persist(request);
+            em.persist(Item.builder()
+                    .name("Ответ " + i)
+                    .description("Вещь по запросу " + i)
+                    .available(true)
+                    .owner(owner)
+                    .request(request)
+                    .build());
+        }
+        em.flush();
+        em.clear();
+
+        List<ItemRequestDto> bigPage = service.getAllRequests(owner.getId(), 0, 20);
+        long smallPageStatements = countStatements(() -> service.getAllRequests(owner.getId(), 0, 2));
+        long bigPageStatements = countStatements(() -> service.getAllRequests(owner.getId(), 0, 20));
+
+        assertThat(bigPage, hasSize(20));
+        assertThat(bigPage.get(0).getItems(), hasSize(1));
+        assertThat(bigPage.get(0).getItems().get(0).getName(), equalTo("Ответ 0"));
+        assertThat(bigPageStatements, equalTo(smallPageStatements));
+    }
+
+    private long countStatements(Runnable action) {
+        Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        em.clear();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
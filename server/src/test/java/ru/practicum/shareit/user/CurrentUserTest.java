@@ -0,0 +1,72 @@
+package ru.practicum.shareit.user;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CurrentUserTest {
+
+    private UserService userService;
+    private CurrentUser currentUser;
+
+    @BeforeEach
+    void setUp() {
+        userService = mock(UserService.class);
+        currentUser = new CurrentUser(userService, mock(UserRepository.class));
+        when(userService.getById(1L)).thenReturn(UserDto.builder().id(1L).name("Daniel").build());
+        when(userService.getById(2L)).thenReturn(UserDto.builder().id(2L).name("Booker").build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void resolvesUserOncePerRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        currentUser.get(1L);
+        currentUser.getReference(1L);
+        UserDto user = currentUser.get(1L);
+
+        assertThat(user.getName()).isEqualTo("Daniel");
+        verify(userService, times(1)).getById(1L);
+    }
+
+    @Test
+    void resolvesAgainForAnotherUserInSameRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        currentUser.get(1L);
+
+        assertThat(currentUser.get(2L).getName()).isEqualTo("Booker");
+    }
+
+    @Test
+    void resolvesOnEveryCallOutsideRequest() {
+        currentUser.get(1L);
+        currentUser.get(1L);
+
+        verify(userService, times(2)).getById(1L);
+    }
+
+    @Test
+    void propagatesUnknownUser() {
+        when(userService.getById(99L)).thenThrow(new NotFoundException("Пользователь с id 99 не найден"));
+
+        assertThatThrownBy(() -> currentUser.get(99L)).isInstanceOf(NotFoundException.class);
+    }
+}
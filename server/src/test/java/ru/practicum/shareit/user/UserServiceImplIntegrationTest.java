@@ -5,12 +5,25 @@ import lombok.RequiredArgsConstructor;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.config.CacheConfig;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
 
 @Transactional
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
@@ -19,6 +32,8 @@ class UserServiceImplIntegrationTest {
 
     private final UserService service;
     private final EntityManager em;
+    private final CacheManager cacheManager;
+    private final ItemService itemService;
 
     @Test
     void saveUser() {
@@ -36,4 +51,69 @@ class UserServiceImplIntegrationTest {
         assertThat(result.getId(), notNullValue());
         assertThat(result.getName(), equalTo("Daniel"));
     }
-}
\ No newline at end of file
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void getByIdIsCachedUntilUpdateOrDelete() {
+        UserDto created = service.create(UserDto.builder()
+                .name("Daniel")
+                .email("daniel_cache@mail.com")
+                .build());
+        Cache users = cacheManager.getCache(CacheConfig.USERS);
+
+        service.getById(created.getId());
+        assertThat(users.get(created.getId(), UserDto.class).getName(), equalTo("Daniel"));
+
+        service.update(created.getId(), UserDto.builder().name("Dan").build());
+        assertThat(users.get(created.getId()), nullValue());
+        assertThat(service.getById(created.getId()).getName(), equalTo("Dan"));
+
+        service.delete(created.getId());
+        assertThat(users.get(created.getId()), nullValue());
+    }
+
+    @Test
+    void deletingAuthorSubtractsCascadedComments() {
+        User owner = User.builder().name("Owner").email("owner@mail.com").build();
+        User author = User.builder().name("Author").email("author@mail.com").build();
+        em.persist(owner);
+        em.persist(author);
+        Item item = Item.builder().name("Дрель").description("Ударная").available(true).owner(owner)
+                .commentCount(3).build();
+        em.persist(item);
+        em.persist(Comment.builder().item(item).author(author).text("Первый").created(LocalDateTime.now()).build());
+        em.persist(Comment.builder().item(item).author(author).text("Второй").created(LocalDateTime.now()).build());
+        em.persist(Comment.builder().item(item).author(owner).text("Ответ").created(LocalDateTime.now()).build());
+        em.flush();
+
+        service.delete(author.getId());
+        em.flush();
+        em.clear();
+
+        assertThat(em.find(Item.class, item.getId()).getCommentCount(), equalTo(1));
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void deletedOwnerItemsLeaveSearchPages() {
+        UserDto deleted = service.create(UserDto.builder().name("Deleted").email("deleted_owner@mail.com").build());
+        UserDto kept = service.create(UserDto.builder().name("Kept").email("kept_owner@mail.com").build());
+        createItem(deleted.getId(), "Перфоратор старый");
+        createItem(deleted.getId(), "Перфоратор сломанный");
+        Long first = createItem(kept.getId(), "Перфоратор новый");
+        Long second = createItem(kept.getId(), "Перфоратор мощный");
+        try {
+            service.delete(deleted.getId());
+
+            List<Long> page = itemService.search("перфоратор", 0, 2).stream().map(ItemDto::getId).toList();
+            assertThat(page, contains(first, second));
+        } finally {
+            service.delete(kept.getId());
+        }
+    }
+
+    private Long createItem(Long ownerId, String name) {
+        ItemDto item = ItemDto.builder().name(name).description("Для бетона").available(true).build();
+        return itemService.create(ownerId, item).getId();
+    }
+}